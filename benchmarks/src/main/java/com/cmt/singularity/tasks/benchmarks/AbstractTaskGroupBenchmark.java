@@ -0,0 +1,85 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks.benchmarks;
+
+import com.cmt.singularity.Configuration;
+import com.cmt.singularity.tasks.StandardTasks;
+import com.cmt.singularity.tasks.Task;
+import com.cmt.singularity.tasks.TaskGroup;
+import com.cmt.singularity.tasks.Tasks;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base state of the task benchmarks - creates one task group per trial for each combination of pool size and group class.
+ *
+ * @author Benjamin Schiller
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractTaskGroupBenchmark
+{
+
+	/**
+	 * Task doing nothing - lets the benchmarks measure the overhead of the task system alone
+	 */
+	protected final static Task NOOP = () -> {
+	};
+
+	protected final static int QUEUE_SIZE = 4096;
+
+	@Param({"1", "2", "4", "8"})
+	protected int poolSize;
+
+	@Param({"StandardTaskGroup", "WorkStealingTaskGroup"})
+	protected String groupClass;
+
+	protected Tasks tasks;
+
+	protected TaskGroup group;
+
+	@Setup(Level.Trial)
+	public void setUpGroup() throws ClassNotFoundException
+	{
+		tasks = new StandardTasks(Configuration.create());
+		group = tasks.createTaskGroup(
+			getClass().getSimpleName(),
+			poolSize,
+			QUEUE_SIZE,
+			true,
+			(Class<? extends TaskGroup>) Class.forName(TaskGroup.class.getPackageName() + "." + groupClass)
+		);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownGroup()
+	{
+		tasks.endGracefully().await();
+	}
+}
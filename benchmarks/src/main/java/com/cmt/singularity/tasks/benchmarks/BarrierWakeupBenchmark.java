@@ -0,0 +1,80 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks.benchmarks;
+
+import com.cmt.singularity.tasks.AdaptiveTaskBarrier;
+import com.cmt.singularity.tasks.StandardTaskBarrier;
+import com.cmt.singularity.tasks.Task;
+import com.cmt.singularity.tasks.TaskBarrier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency from a worker arriving at a barrier until the awaiting thread is woken up.
+ *
+ * @author Benjamin Schiller
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarrierWakeupBenchmark extends AbstractTaskGroupBenchmark
+{
+
+	@Param({"standard", "adaptive"})
+	protected String barrierType;
+
+	protected volatile TaskBarrier barrier;
+
+	protected final Task arrive = () -> barrier.arrive();
+
+	protected TaskBarrier createBarrier()
+	{
+		return switch (barrierType) {
+			case "adaptive" ->
+				new AdaptiveTaskBarrier(1);
+			default ->
+				new StandardTaskBarrier(1);
+		};
+	}
+
+	@Benchmark
+	public void wakeup()
+	{
+		TaskBarrier current = createBarrier();
+		barrier = current;
+		group.parallel(arrive);
+		current.await();
+	}
+}
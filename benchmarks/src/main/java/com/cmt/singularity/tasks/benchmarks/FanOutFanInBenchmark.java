@@ -0,0 +1,79 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks.benchmarks;
+
+import com.cmt.singularity.tasks.StandardTaskBarrier;
+import com.cmt.singularity.tasks.Task;
+import com.cmt.singularity.tasks.TaskBarrier;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the latency of fanning out into parallel tasks with parallelBefore and fanning back in with parallelAfter.
+ *
+ * @author Benjamin Schiller
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FanOutFanInBenchmark extends AbstractTaskGroupBenchmark
+{
+
+	@Param({"4", "64"})
+	protected int fanOut;
+
+	protected Task[] fan;
+
+	protected volatile TaskBarrier done;
+
+	protected final Task fanIn = () -> done.arrive();
+
+	@Setup
+	public void setUpFan()
+	{
+		fan = new Task[fanOut];
+		Arrays.fill(fan, NOOP);
+	}
+
+	@Benchmark
+	public void fanOutFanIn()
+	{
+		done = new StandardTaskBarrier(1);
+		group.parallelAfter(group.parallelBefore(fan), fanIn);
+		done.await();
+	}
+}
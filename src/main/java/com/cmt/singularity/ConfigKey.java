@@ -0,0 +1,235 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed configuration key with its default. Each key gets an index, so a ConfigurationSnapshot can cache the parsed
+ * value of the key in an array slot - reading it is then as cheap as reading a field.
+ *
+ * @author Benjamin Schiller
+ * @param <ValueType>
+ */
+public final class ConfigKey<ValueType>
+{
+
+	private final static Assert assertion = Assert.getAssert(ConfigKey.class.getName());
+
+	private final static AtomicInteger keyCount = new AtomicInteger();
+
+	public static ConfigKey<Boolean> ofBoolean(String name, boolean defaultValue)
+	{
+		return new ConfigKey<>(name, Boolean.class, defaultValue);
+	}
+
+	public static ConfigKey<Short> ofShort(String name, short defaultValue)
+	{
+		return new ConfigKey<>(name, Short.class, defaultValue);
+	}
+
+	public static ConfigKey<Integer> ofInt(String name, int defaultValue)
+	{
+		return new ConfigKey<>(name, Integer.class, defaultValue);
+	}
+
+	public static ConfigKey<Long> ofLong(String name, long defaultValue)
+	{
+		return new ConfigKey<>(name, Long.class, defaultValue);
+	}
+
+	public static ConfigKey<Float> ofFloat(String name, float defaultValue)
+	{
+		return new ConfigKey<>(name, Float.class, defaultValue);
+	}
+
+	public static ConfigKey<Double> ofDouble(String name, double defaultValue)
+	{
+		return new ConfigKey<>(name, Double.class, defaultValue);
+	}
+
+	public static ConfigKey<String> ofString(String name, String defaultValue)
+	{
+		return new ConfigKey<>(name, String.class, defaultValue);
+	}
+
+	/**
+	 * Creates a key for a class - configured as class or as class name (i.e. from the command line).
+	 *
+	 * @param name
+	 * @param defaultValue
+	 * @return
+	 */
+	public static ConfigKey<Class<?>> ofClass(String name, Class<?> defaultValue)
+	{
+		return new ConfigKey<>(name, (Class<Class<?>>) (Class<?>) Class.class, defaultValue);
+	}
+
+	public static <ValueType> ConfigKey<ValueType> of(String name, Class<ValueType> type, ValueType defaultValue)
+	{
+		return new ConfigKey<>(name, type, defaultValue);
+	}
+
+	/**
+	 * Returns the count of keys created so far - the indices of all keys are below it.
+	 *
+	 * @return
+	 */
+	public static int getKeyCount()
+	{
+		return keyCount.get();
+	}
+
+	/**
+	 * Converts a configured value into the target class. Strings (i.e. from the command line) are parsed - also into
+	 * enum constants and classes by name - and numbers are converted into the requested number type.
+	 *
+	 * @param <TargetType>
+	 * @param value
+	 * @param targetClass
+	 * @return
+	 */
+	public static <TargetType> TargetType convert(Object value, Class<TargetType> targetClass)
+	{
+		assertion.assertNotNull(targetClass, "targetClass != null");
+
+		if (value == null || targetClass.equals(Object.class)) {
+			return (TargetType) value;
+		}
+
+		if (targetClass.equals(String.class)) {
+			return (TargetType) value.toString();
+		}
+
+		if (value instanceof String string) {
+			// Support string value in config being converted to Boolean
+			if (targetClass.equals(Boolean.class)) {
+				return (TargetType) Boolean.valueOf(string);
+			} // Support string value in config being converted to Integer
+			else if (targetClass.equals(Integer.class)) {
+				return (TargetType) Integer.valueOf(string);
+			} // Support string value in config being converted to Float
+			else if (targetClass.equals(Float.class)) {
+				return (TargetType) Float.valueOf(string);
+			} // Support string value in config being converted to Long
+			else if (targetClass.equals(Long.class)) {
+				return (TargetType) Long.valueOf(string);
+			} // Support string value in config being converted to Double
+			else if (targetClass.equals(Double.class)) {
+				return (TargetType) Double.valueOf(string);
+			} // Support string value in config being converted to Short
+			else if (targetClass.equals(Short.class)) {
+				return (TargetType) Short.valueOf(string);
+			} // Support string value in config being converted to an enum constant by its name
+			else if (targetClass.isEnum()) {
+				return (TargetType) Enum.valueOf((Class) targetClass, string);
+			} // Support string value in config being converted to the class of this name
+			else if (targetClass.equals(Class.class)) {
+				try {
+					return (TargetType) Class.forName(string);
+				} catch (ClassNotFoundException ex) {
+					throw new RuntimeException("Class '" + string + "' not found", ex);
+				}
+			}
+		} // Support numbers being converted into other number types (i.e. an Integer read as Long)
+		else if (value instanceof Number number && !targetClass.isInstance(value)) {
+			if (targetClass.equals(Integer.class)) {
+				return (TargetType) Integer.valueOf(number.intValue());
+			} else if (targetClass.equals(Float.class)) {
+				return (TargetType) Float.valueOf(number.floatValue());
+			} else if (targetClass.equals(Long.class)) {
+				return (TargetType) Long.valueOf(number.longValue());
+			} else if (targetClass.equals(Double.class)) {
+				return (TargetType) Double.valueOf(number.doubleValue());
+			} else if (targetClass.equals(Short.class)) {
+				return (TargetType) Short.valueOf(number.shortValue());
+			}
+		}
+
+		return (TargetType) value;
+	}
+
+	private final String name;
+	private final Class<ValueType> type;
+	private final ValueType defaultValue;
+	private final int index;
+
+	private ConfigKey(String name, Class<ValueType> type, ValueType defaultValue)
+	{
+		assertion.assertNotNull(name, "name != null");
+		assertion.assertNotNull(type, "type != null");
+
+		this.name = name;
+		this.type = type;
+		this.defaultValue = defaultValue;
+
+		index = keyCount.getAndIncrement();
+	}
+
+	/**
+	 * Returns the given configured value converted into the type of this key or the default if it is null.
+	 *
+	 * @param value
+	 * @return
+	 */
+	public ValueType parse(Object value)
+	{
+		if (value == null) {
+			return defaultValue;
+		}
+
+		return type.cast(convert(value, type));
+	}
+
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public String getName()
+	{
+		return name;
+	}
+
+	public Class<ValueType> getType()
+	{
+		return type;
+	}
+
+	public ValueType getDefaultValue()
+	{
+		return defaultValue;
+	}
+
+	public int getIndex()
+	{
+		return index;
+	}
+	//</editor-fold>
+}
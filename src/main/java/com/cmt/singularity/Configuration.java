@@ -101,6 +101,23 @@ public interface Configuration
 
 	<ResultType> ResultType getAs(String key, ResultType defaultValue, Class<ResultType> type);
 
+	/**
+	 * Returns the parsed value of the typed key from the current snapshot or the default of the key if it is not set.
+	 *
+	 * @param <ResultType>
+	 * @param key
+	 * @return
+	 */
+	<ResultType> ResultType get(ConfigKey<ResultType> key);
+
+	/**
+	 * Returns an immutable snapshot of the current values. The same snapshot is returned until the configuration gets
+	 * changed, so per frame code can keep it and read typed keys at field speed.
+	 *
+	 * @return
+	 */
+	ConfigurationSnapshot getSnapshot();
+
 	/**
 	 * Inits this configuration with the given String args (usually coming from command line).
 	 *
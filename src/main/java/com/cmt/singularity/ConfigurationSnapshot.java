@@ -0,0 +1,119 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.Map;
+
+/**
+ * An immutable view of a Configuration at one point in time. Values of ConfigKeys are parsed once on first access and
+ * cached by the index of the key, so per frame code can read them without map lookups or parsing. A Configuration
+ * hands out a new snapshot once it got changed - code holding a snapshot keeps seeing the old values.
+ *
+ * @author Benjamin Schiller
+ */
+public final class ConfigurationSnapshot
+{
+
+	private final static Assert assertion = Assert.getAssert(ConfigurationSnapshot.class.getName());
+
+	/**
+	 * Marks a cached value which was parsed as null
+	 */
+	private final static Object NULL = new Object();
+
+	private final Map<String, Object> properties;
+	private final long version;
+
+	/**
+	 * Parsed values by index of the key - filled lazily, racing threads just parse the same value twice
+	 */
+	private final Object[] values;
+
+	public ConfigurationSnapshot(Map<String, Object> properties, long version)
+	{
+		assertion.assertNotNull(properties, "properties != null");
+
+		this.properties = Map.copyOf(properties);
+		this.version = version;
+
+		values = new Object[ConfigKey.getKeyCount()];
+	}
+
+	/**
+	 * Returns the parsed value of the key or its default if it is not set.
+	 *
+	 * @param <ValueType>
+	 * @param key
+	 * @return
+	 */
+	public <ValueType> ValueType get(ConfigKey<ValueType> key)
+	{
+		assertion.assertNotNull(key, "key != null");
+
+		int index = key.getIndex();
+
+		// Keys created after this snapshot are not cached
+		if (index >= values.length) {
+			return key.parse(properties.get(key.getName()));
+		}
+
+		Object value = values[index];
+
+		if (value == null) {
+			ValueType parsed = key.parse(properties.get(key.getName()));
+			values[index] = (parsed != null) ? parsed : NULL;
+			return parsed;
+		}
+
+		return (value != NULL) ? (ValueType) value : null;
+	}
+
+	/**
+	 * Returns the raw value of the key as it was configured.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public Object get(String key)
+	{
+		assertion.assertNotNull(key, "key != null");
+
+		return properties.get(key);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	/**
+	 * Returns the version of the Configuration this snapshot was taken from.
+	 *
+	 * @return
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+	//</editor-fold>
+}
@@ -28,6 +28,7 @@ package com.cmt.singularity;
 import com.cmt.singularity.assertion.Assert;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
@@ -40,11 +41,26 @@ public class StandardConfiguration implements Configuration
 
 	protected final Map<String, Object> properties;
 
+	/**
+	 * Counts the changes - a snapshot of an older version is replaced on the next getSnapshot()
+	 */
+	protected final AtomicLong version;
+
+	protected volatile ConfigurationSnapshot snapshot;
+
 	public StandardConfiguration()
 	{
 		properties = new ConcurrentHashMap<>();
+		version = new AtomicLong();
 	}
 
+	/**
+	 * Inits the properties from args in the form -key=value or -key (= true). Assertion keys are copied into the system
+	 * properties, so they apply to all modules loaded afterwards. This is the only place to configure assertions -
+	 * modules resolve them once on class loading, so the set methods reject assertion keys.
+	 *
+	 * @param args
+	 */
 	@Override
 	public void init(String... args)
 	{
@@ -64,18 +80,38 @@ public class StandardConfiguration implements Configuration
 					}
 
 					properties.put(key, value);
+					version.incrementAndGet();
+
+					// Assertions are resolved by the modules on class loading from the system properties
+					if (key.startsWith(Assert.CONFIGURATION_ASSERT_ACTIVE_KEY)) {
+						System.setProperty(key, value);
+					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Throws if the key configures assertions - changing it after init would silently have no effect.
+	 *
+	 * @param key
+	 */
+	protected void assertNoAssertionKey(String key)
+	{
+		if (key.startsWith(Assert.CONFIGURATION_ASSERT_ACTIVE_KEY)) {
+			throw new RuntimeException("Assertion key '" + key + "' can only be given to init");
+		}
+	}
+
 	@Override
 	public void set(String key, Object value)
 	{
 		assertion.assertNotNull(key, "key != null");
 		assertion.assertNotNull(value, "value != null");
+		assertNoAssertionKey(key);
 
 		properties.put(key, value);
+		version.incrementAndGet();
 	}
 
 	@Override
@@ -83,9 +119,11 @@ public class StandardConfiguration implements Configuration
 	{
 		assertion.assertNotNull(key, "key != null");
 		assertion.assertNotNull(value, "value != null");
+		assertNoAssertionKey(key);
 
 		// @todo handle fixed config values
 		properties.put(key, value);
+		version.incrementAndGet();
 	}
 
 	@Override
@@ -93,8 +131,12 @@ public class StandardConfiguration implements Configuration
 	{
 		assertion.assertNotNull(key, "key != null");
 		assertion.assertNotNull(value, "value != null");
+		assertNoAssertionKey(key);
 
-		properties.putIfAbsent(key, value);
+		// Only a new value makes the current snapshot outdated
+		if (properties.putIfAbsent(key, value) == null) {
+			version.incrementAndGet();
+		}
 	}
 
 	@Override
@@ -102,9 +144,13 @@ public class StandardConfiguration implements Configuration
 	{
 		assertion.assertNotNull(key, "key != null");
 		assertion.assertNotNull(value, "value != null");
+		assertNoAssertionKey(key);
 
 		// @todo handle fixed config values
-		properties.putIfAbsent(key, value);
+		// Only a new value makes the current snapshot outdated
+		if (properties.putIfAbsent(key, value) == null) {
+			version.incrementAndGet();
+		}
 	}
 
 	@Override
@@ -140,30 +186,7 @@ public class StandardConfiguration implements Configuration
 			return defaultValue;
 		}
 
-		if (targetClass.equals(Object.class)) {
-			return (TargetType) value;
-		}
-
-		if (targetClass.equals(String.class)) {
-			return (TargetType) value.toString();
-		} // Support string value in config being converted to Boolean
-		else if (targetClass.equals(Boolean.class) && value instanceof String string) {
-			return (TargetType) Boolean.valueOf(string);
-		} // Support string value in config being converted to Integer
-		else if (targetClass.equals(Integer.class) && value instanceof String string) {
-			return (TargetType) Integer.valueOf(string);
-		} // Support string value in config being converted to Float
-		else if (targetClass.equals(Float.class) && value instanceof String string) {
-			return (TargetType) Float.valueOf(string);
-		} // Support string value in config being converted to Long
-		else if (targetClass.equals(Long.class) && value instanceof String string) {
-			return (TargetType) Long.valueOf(string);
-		} // Support string value in config being converted to Double
-		else if (targetClass.equals(Double.class) && value instanceof String string) {
-			return (TargetType) Double.valueOf(string);
-		}
-
-		return (TargetType) value;
+		return ConfigKey.convert(value, targetClass);
 	}
 
 	@Override
@@ -262,6 +285,34 @@ public class StandardConfiguration implements Configuration
 		return getConvert(key, type, defaultValue);
 	}
 
+	@Override
+	public <ResultType> ResultType get(ConfigKey<ResultType> key)
+	{
+		return getSnapshot().get(key);
+	}
+
+	/**
+	 * Returns the current snapshot - a new one is taken if the configuration changed since the last one. The version
+	 * is read before copying, so a change racing with the copy leads to another snapshot on the next call.
+	 *
+	 * @return
+	 */
+	@Override
+	public ConfigurationSnapshot getSnapshot()
+	{
+		ConfigurationSnapshot current = snapshot;
+		long currentVersion = version.get();
+
+		if (current != null && current.getVersion() == currentVersion) {
+			return current;
+		}
+
+		current = new ConfigurationSnapshot(properties, currentVersion);
+		snapshot = current;
+
+		return current;
+	}
+
 	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
 	@Override
 	public Class<? extends Singularity> getSingularityClass()
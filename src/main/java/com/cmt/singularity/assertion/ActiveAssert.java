@@ -0,0 +1,119 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.assertion;
+
+import java.util.Objects;
+
+/**
+ * Assertions which throw a RuntimeException with the given message if they fail.
+ *
+ * @author Benjamin Schiller
+ */
+public final class ActiveAssert extends Assert
+{
+
+	@Override
+	public boolean isActive()
+	{
+		return true;
+	}
+
+	@Override
+	public void assertTrue(boolean assertion, String message)
+	{
+		if (!assertion) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertNotNull(Object assertion, String message)
+	{
+		if (assertion == null) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertNotEmpty(Object[] assertion, String message)
+	{
+		if (assertion == null) {
+			throw new RuntimeException(message);
+		}
+
+		if (assertion.length == 0) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertFalse(boolean assertion, String message)
+	{
+		if (assertion) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertEquals(boolean assertion, boolean expected, String message)
+	{
+		if (assertion != expected) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertEquals(int assertion, int expected, String message)
+	{
+		if (assertion != expected) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertEquals(float assertion, float expected, String message)
+	{
+		if (assertion != expected) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertEquals(double assertion, double expected, String message)
+	{
+		if (assertion != expected) {
+			throw new RuntimeException(message);
+		}
+	}
+
+	@Override
+	public void assertEquals(Object assertion, Object expected, String message)
+	{
+		if (!Objects.equals(assertion, expected)) {
+			throw new RuntimeException(message);
+		}
+	}
+}
@@ -25,128 +25,95 @@
 //</editor-fold>
 package com.cmt.singularity.assertion;
 
-import java.util.Objects;
-
 /**
+ * Assertions of a module. Whether a module asserts is decided once when getAssert is called - usually for a static
+ * final field. As the field then holds either an ActiveAssert or an InactiveAssert (which does nothing) the JIT can
+ * inline the calls and remove the checks of inactive modules entirely.
  *
  * @author Benjamin Schiller
  */
-public final class Assert
+public abstract sealed class Assert permits ActiveAssert, InactiveAssert
 {
 
+	/**
+	 * Key in system properties to activate (true) or deactivate (false) the assertions. A single module or package can
+	 * be configured by appending "." and its name to the key - the most specific key wins.
+	 */
+	public final static String CONFIGURATION_ASSERT_ACTIVE_KEY = "com.cmt.singularity.assertion.Assert.active";
+
+	/**
+	 * Default of assertions being active = true
+	 */
+	public final static boolean CONFIGURATION_ASSERT_ACTIVE_DEFAULT = true;
+
+	/**
+	 * Returns the assertions for the given module (usually the class name). As it is resolved just once, the
+	 * configuration has to be set before the module gets loaded - i.e. with -D on the command line or as args to
+	 * Configuration.init. Later changes do not affect modules already loaded.
+	 *
+	 * @param module
+	 * @return
+	 */
 	public final static Assert getAssert(String module)
 	{
-		// @todo Work on assertion pattern in combination with Configuration
-		return new Assert(true);
+		return isActive(module) ? new ActiveAssert() : new InactiveAssert();
 	}
 
-	private final boolean active;
-
-	public Assert(boolean active)
+	/**
+	 * Returns if assertions are configured to be active for the given module. Looks for the key of the module and its
+	 * enclosing packages before the general key. Reads the system properties on each call, it is meant to run once per
+	 * module from getAssert and not on a hot path.
+	 *
+	 * @param module
+	 * @return
+	 */
+	public static boolean isActive(String module)
 	{
-		this.active = active;
-	}
+		String name = module;
 
-	public void assertTrue(boolean assertion, String message)
-	{
-		if (!active) {
-			return;
-		}
+		while (name != null && !name.isEmpty()) {
 
-		if (!assertion) {
-			throw new RuntimeException(message);
-		}
-	}
+			String value = System.getProperty(CONFIGURATION_ASSERT_ACTIVE_KEY + "." + name);
 
-	public void assertNotNull(Object assertion, String message)
-	{
-		if (!active) {
-			return;
-		}
+			if (value != null) {
+				return Boolean.parseBoolean(value);
+			}
 
-		if (assertion == null) {
-			throw new RuntimeException(message);
+			int dot = name.lastIndexOf('.');
+			name = (dot > 0) ? name.substring(0, dot) : null;
 		}
-	}
 
-	public void assertNotEmpty(Object[] assertion, String message)
-	{
-		if (!active) {
-			return;
-		}
+		String value = System.getProperty(CONFIGURATION_ASSERT_ACTIVE_KEY);
 
-		if (assertion == null) {
-			throw new RuntimeException(message);
+		if (value != null) {
+			return Boolean.parseBoolean(value);
 		}
 
-		if (assertion.length == 0) {
-			throw new RuntimeException(message);
-		}
+		return CONFIGURATION_ASSERT_ACTIVE_DEFAULT;
 	}
 
-	public void assertFalse(boolean assertion, String message)
-	{
-		if (!active) {
-			return;
-		}
+	/**
+	 * Returns if this asserts at all.
+	 *
+	 * @return
+	 */
+	public abstract boolean isActive();
 
-		if (assertion) {
-			throw new RuntimeException(message);
-		}
-	}
+	public abstract void assertTrue(boolean assertion, String message);
 
-	public void assertEquals(boolean assertion, boolean expected, String message)
-	{
-		if (!active) {
-			return;
-		}
+	public abstract void assertNotNull(Object assertion, String message);
 
-		if (assertion != expected) {
-			throw new RuntimeException(message);
-		}
-	}
+	public abstract void assertNotEmpty(Object[] assertion, String message);
 
-	public void assertEquals(int assertion, int expected, String message)
-	{
-		if (!active) {
-			return;
-		}
+	public abstract void assertFalse(boolean assertion, String message);
 
-		if (assertion != expected) {
-			throw new RuntimeException(message);
-		}
-	}
+	public abstract void assertEquals(boolean assertion, boolean expected, String message);
 
-	public void assertEquals(float assertion, float expected, String message)
-	{
-		if (!active) {
-			return;
-		}
+	public abstract void assertEquals(int assertion, int expected, String message);
 
-		if (assertion != expected) {
-			throw new RuntimeException(message);
-		}
-	}
+	public abstract void assertEquals(float assertion, float expected, String message);
 
-	public void assertEquals(double assertion, double expected, String message)
-	{
-		if (!active) {
-			return;
-		}
+	public abstract void assertEquals(double assertion, double expected, String message);
 
-		if (assertion != expected) {
-			throw new RuntimeException(message);
-		}
-	}
-
-	public void assertEquals(Object assertion, Object expected, String message)
-	{
-		if (!active) {
-			return;
-		}
-
-		if (Objects.equals(assertion, expected)) {
-			throw new RuntimeException(message);
-		}
-	}
+	public abstract void assertEquals(Object assertion, Object expected, String message);
 }
@@ -0,0 +1,1243 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.ConfigKey;
+import com.cmt.singularity.Configuration;
+import com.cmt.singularity.ConfigurationSnapshot;
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * The AbstractTaskGroup implements the submission contracts (parallel, sequential, ...) of a TaskGroup on top of a
+ * single enqueue(Task) operation. Implementations just have to decide how and where an enqueued task gets executed.
+ *
+ * @author Benjamin Schiller
+ */
+public abstract class AbstractTaskGroup implements TaskGroup, Comparable
+{
+
+	private final static Logger log = LogManager.getLogger(AbstractTaskGroup.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(AbstractTaskGroup.class.getName());
+
+	/**
+	 * Count of pooled wrappers probed per wrap before a new wrapper is created
+	 */
+	protected final static int WRAPPER_PROBES = 8;
+
+	/**
+	 * Wraps a task to arrive at a barrier, skip it once cancelled and log it. Wrappers created by a group are taken
+	 * from a fixed set which is reused (see wrap(task, arrive, cancellation)) and are released right before the task
+	 * executes, so wrapping does not allocate in the steady state.
+	 */
+	public static class StandardTaskWrapperTask implements Task
+	{
+
+		protected Task task;
+		protected TaskBarrier arrive;
+		protected CancellationToken cancellation;
+		protected final boolean logTasks;
+
+		/**
+		 * Time the wrapper was handed out if the metrics sampled it for timing - 0 if not timed
+		 */
+		protected long enqueued;
+
+		/**
+		 * Set while a pooled wrapper is handed out - null if the wrapper is not pooled
+		 */
+		protected final AtomicBoolean used;
+
+		public StandardTaskWrapperTask(Task task, boolean logTasks)
+		{
+			this(task, null, null, logTasks);
+		}
+
+		public StandardTaskWrapperTask(Task task, TaskBarrier arrive, boolean logTasks)
+		{
+			this(task, arrive, null, logTasks);
+		}
+
+		public StandardTaskWrapperTask(Task task, TaskBarrier arrive, CancellationToken cancellation, boolean logTasks)
+		{
+			assertion.assertNotNull(task, "task != null");
+
+			this.task = task;
+			this.arrive = arrive;
+			this.cancellation = cancellation;
+			this.logTasks = logTasks;
+			used = null;
+		}
+
+		/**
+		 * Creates an empty pooled wrapper.
+		 *
+		 * @param logTasks
+		 */
+		protected StandardTaskWrapperTask(boolean logTasks)
+		{
+			this.logTasks = logTasks;
+			used = new AtomicBoolean();
+		}
+
+		/**
+		 * Hands out this pooled wrapper for the given task.
+		 *
+		 * @param task
+		 * @param arrive
+		 * @param cancellation
+		 * @return false if the wrapper is in flight already
+		 */
+		protected boolean acquire(Task task, TaskBarrier arrive, CancellationToken cancellation)
+		{
+			if (used.get() || !used.compareAndSet(false, true)) {
+				return false;
+			}
+
+			this.task = task;
+			this.arrive = arrive;
+			this.cancellation = cancellation;
+
+			return true;
+		}
+
+		/**
+		 * Frees this wrapper for reuse if it is pooled and handed out.
+		 */
+		protected void release()
+		{
+			if (used != null && task != null) {
+				task = null;
+				arrive = null;
+				cancellation = null;
+				enqueued = 0L;
+				used.set(false);
+			}
+		}
+
+		/**
+		 * Skips this wrapper without executing its task. It is freed for reuse and arrives exceptionally, so waiting
+		 * code continues and sees why.
+		 *
+		 * @param reason
+		 */
+		protected void discard(Throwable reason)
+		{
+			TaskBarrier currentArrive = arrive;
+
+			release();
+
+			if (currentArrive != null) {
+				currentArrive.arriveExceptionally(reason);
+			}
+		}
+
+		@Override
+		public void execute()
+		{
+			Task current = task;
+			TaskBarrier currentArrive = arrive;
+			CancellationToken currentCancellation = cancellation;
+
+			// The wrapper may be reused by the next submission from here on
+			release();
+
+			// Skipped tasks still arrive so waiting code continues - exceptionally, so it can tell they did not run
+			if (currentCancellation != null && currentCancellation.isCancelled()) {
+
+				if (logTasks) {
+					log.debug(current.getClass().getName() + ".execute:cancelled");
+				}
+
+				if (currentArrive != null) {
+					currentArrive.arriveExceptionally(new TaskCancelledException("Task was cancelled"));
+				}
+
+				return;
+			}
+
+			try {
+				// The group traces the task already
+				executeLogged(current, logTasks);
+			} catch (Throwable ex) {
+
+				// Arrive anyway so waiting code does not hang - the failure is reported by the barrier and the group
+				if (currentArrive != null) {
+					currentArrive.arriveExceptionally(ex);
+				}
+
+				throw ex;
+			}
+
+			if (currentArrive != null) {
+				currentArrive.arrive();
+			}
+		}
+
+		/**
+		 * Executes the task as the step of another task - traced as a nested slice and logged like a wrapper does but
+		 * without needing one.
+		 *
+		 * @param task
+		 * @param logTasks
+		 */
+		protected static void run(Task task, boolean logTasks)
+		{
+			boolean traced = TaskTracer.isEnabled();
+
+			if (traced) {
+				TaskTracer.begin(task.getClass());
+			}
+
+			try {
+				executeLogged(task, logTasks);
+			} finally {
+				if (traced) {
+					TaskTracer.end();
+				}
+			}
+		}
+
+		/**
+		 * Executes the task and logs it if logging is active. The log name is just built if logging is active.
+		 *
+		 * @param task
+		 * @param logTasks
+		 */
+		protected static void executeLogged(Task task, boolean logTasks)
+		{
+			if (!logTasks) {
+				task.execute();
+				return;
+			}
+
+			String taskLog = task.getClass().getName() + ".execute";
+
+			log.debug(taskLog + ":enter");
+			log.start(taskLog);
+
+			try {
+				task.execute();
+			} finally {
+				log.stopDebug(taskLog);
+				log.debug(taskLog + ":exit");
+			}
+		}
+	}
+
+	protected final String name;
+	protected final boolean logTasks;
+	protected final int grainSize;
+	protected final int priorityAging;
+	protected final boolean adaptiveBarriers;
+	protected final int barrierSpins;
+	protected final int barrierYields;
+	protected final int idleSpins;
+	protected final int idleYields;
+
+	/**
+	 * The CPUs the workers are pinned to - null if not pinned
+	 */
+	protected final int[] affinity;
+	protected volatile TaskFailureHandler failureHandler;
+	protected final TaskGroupMetrics metrics;
+
+	/**
+	 * Reusable wrappers - see wrap(task, arrive, cancellation)
+	 */
+	protected final StandardTaskWrapperTask[] wrappers;
+	protected volatile boolean ending;
+	protected volatile boolean ended;
+
+	/**
+	 * Tasks which are queued or running - join() waits for it to become 0
+	 */
+	protected final AtomicLong pendingTasks;
+	protected final Object joinMonitor;
+
+	protected AbstractTaskGroup(Configuration configuration, String name)
+	{
+		assertion.assertNotNull(configuration, "configuration != null");
+		assertion.assertNotNull(name, "name != null");
+
+		this.name = name;
+
+		pendingTasks = new AtomicLong();
+		joinMonitor = new Object();
+
+		// All group settings are read the same way - per group overriding the general value
+		ConfigurationSnapshot snapshot = configuration.getSnapshot();
+
+		logTasks = getGroupConfiguration(snapshot, name, COFIGURATION_TASK_GROUP_LOG);
+		grainSize = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_GRAIN_SIZE);
+		priorityAging = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_PRIORITY_AGING);
+		adaptiveBarriers = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS);
+		barrierSpins = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_BARRIER_SPINS);
+		barrierYields = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_BARRIER_YIELDS);
+		idleSpins = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_IDLE_SPINS);
+		idleYields = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_IDLE_YIELDS);
+
+		assertion.assertTrue(idleSpins >= 0, "idleSpins >= 0");
+		assertion.assertTrue(idleYields >= 0, "idleYields >= 0");
+
+		int[] cpus = ThreadAffinity.parseCpuList(getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_AFFINITY));
+		affinity = (cpus.length > 0) ? cpus : null;
+
+		int sampling = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_METRICS_SAMPLING);
+		metrics = new TaskGroupMetrics(name, sampling, this::getQueueDepth);
+
+		int wrapperPoolSize = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE);
+
+		assertion.assertTrue(wrapperPoolSize >= 0, "wrapperPoolSize >= 0");
+
+		wrappers = new StandardTaskWrapperTask[wrapperPoolSize];
+		for (int i = 0; i < wrappers.length; ++i) {
+			wrappers[i] = new StandardTaskWrapperTask(logTasks);
+		}
+
+		Class<?> failureHandlerClass = getGroupConfiguration(snapshot, name, CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS);
+
+		try {
+			failureHandler = (TaskFailureHandler) failureHandlerClass.getConstructor().newInstance();
+		} catch (IllegalAccessException | IllegalArgumentException | InstantiationException | NoSuchMethodException | InvocationTargetException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Returns the configured value of the key for the group with the given name. A value for key + "." + name overrides
+	 * the value for key. Values are parsed by the key, so numbers, booleans, enums and classes can be given as strings
+	 * (i.e. from the command line).
+	 *
+	 * @param <ValueType>
+	 * @param configuration
+	 * @param name
+	 * @param key
+	 * @return
+	 */
+	protected static <ValueType> ValueType getGroupConfiguration(ConfigurationSnapshot configuration, String name, ConfigKey<ValueType> key)
+	{
+		assertion.assertNotNull(configuration, "configuration != null");
+		assertion.assertNotNull(name, "name != null");
+		assertion.assertNotNull(key, "key != null");
+
+		Object groupValue = configuration.get(key.getName() + "." + name);
+
+		return (groupValue != null) ? key.parse(groupValue) : configuration.get(key);
+	}
+
+	/**
+	 * Backs off an idle worker by spinning idleSpins rounds and yielding idleYields rounds.
+	 *
+	 * @param round the number of rounds the worker is idle already
+	 * @return false if the backoff is exhausted and the worker shall park
+	 */
+	protected boolean backoff(int round)
+	{
+		if (round < idleSpins) {
+			Thread.onSpinWait();
+			return true;
+		}
+
+		if (round < idleSpins + idleYields) {
+			Thread.yield();
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Pins the calling worker to its CPU if an affinity is configured.
+	 *
+	 * @param index index of the worker in its group
+	 * @return the NUMA node of the CPU or -1 if not pinned or unknown
+	 */
+	protected int pinWorker(int index)
+	{
+		if (affinity == null) {
+			return -1;
+		}
+
+		int cpu = affinity[index % affinity.length];
+
+		if (!ThreadAffinity.pinCurrentThread(cpu)) {
+			return -1;
+		}
+
+		log.debug("Pinned worker", Thread.currentThread().getName(), cpu);
+
+		return ThreadAffinity.getNumaNode(cpu);
+	}
+
+	/**
+	 * Creates a barrier for tasks of this group - adaptive if configured.
+	 *
+	 * @param count
+	 * @return
+	 */
+	protected TaskBarrier createBarrier(int count)
+	{
+		if (adaptiveBarriers) {
+			return new AdaptiveTaskBarrier(count, barrierSpins, barrierYields);
+		}
+
+		return new StandardTaskBarrier(count);
+	}
+
+	/**
+	 * Hands the given (already wrapped) task over to the execution of this group.
+	 *
+	 * @param task
+	 * @param priority
+	 */
+	protected abstract void enqueue(Task task, TaskPriority priority);
+
+	/**
+	 * Hands the given (already wrapped) tasks from index from (inclusive) to index to (exclusive) over to the execution
+	 * of this group. Groups override it to hand over the batch at once.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @param priority
+	 */
+	protected void enqueueAll(Task[] tasks, int from, int to, TaskPriority priority)
+	{
+		for (int i = from; i < to; ++i) {
+			enqueue(tasks[i], priority);
+		}
+	}
+
+	/**
+	 * Returns true if this group takes the tasks the calling thread submits last in first out. Order sensitive
+	 * submitters (i.e. the TaskGraph) submit the most urgent task last then.
+	 *
+	 * @return
+	 */
+	protected boolean takesOwnSubmissionsLifo()
+	{
+		return false;
+	}
+
+	/**
+	 * Hands the given (already wrapped) task over to the execution of this group with priority FRAME.
+	 *
+	 * @param task
+	 */
+	protected void enqueue(Task task)
+	{
+		enqueue(task, TaskPriority.FRAME);
+	}
+
+	/**
+	 * Executes a queued task and counts it as done for join(). Failures are reported for the task a wrapper carries, as
+	 * a pooled wrapper is released for reuse once it starts - the same goes for the JFR event and the trace. Wrappers are timed if they
+	 * were sampled on wrap (which wraps sampled tasks for that), tasks enqueued without wrap are sampled here.
+	 *
+	 * @param task
+	 */
+	protected void runTask(Task task)
+	{
+		Task unwrapped = unwrap(task);
+		long enqueued = (task instanceof StandardTaskWrapperTask wrapper) ? wrapper.enqueued : 0L;
+		boolean timed = (task instanceof StandardTaskWrapperTask) ? enqueued != 0L : metrics.sample();
+		long started = timed ? System.nanoTime() : 0L;
+
+		if (enqueued != 0L) {
+			metrics.recordWaitTime(started - enqueued);
+		}
+
+		TaskExecutionEvent event = TaskExecutionEvent.isRecording() ? TaskExecutionEvent.start(name, unwrapped) : null;
+		boolean traced = TaskTracer.isEnabled();
+
+		if (traced) {
+			TaskTracer.begin(unwrapped.getClass());
+		}
+
+		try {
+			metrics.taskExecuted();
+			task.execute();
+		} catch (Throwable ex) {
+			handleFailure(unwrapped, ex);
+		} finally {
+			if (traced) {
+				TaskTracer.end();
+			}
+			if (event != null) {
+				event.commit();
+			}
+			if (timed) {
+				metrics.recordRunTime(System.nanoTime() - started);
+			}
+			taskDone();
+		}
+	}
+
+	/**
+	 * Returns the task carried by the given wrapper or the task itself if it is not wrapped. Has to be called before
+	 * the wrapper executes.
+	 *
+	 * @param task
+	 * @return
+	 */
+	protected static Task unwrap(Task task)
+	{
+		if (task instanceof StandardTaskWrapperTask wrapper && wrapper.task != null) {
+			return wrapper.task;
+		}
+
+		return task;
+	}
+
+	/**
+	 * Hands a failure which escaped the given task over to the failure handler. A failing handler is logged, so it can
+	 * never kill a worker.
+	 *
+	 * @param task
+	 * @param failure
+	 */
+	protected void handleFailure(Task task, Throwable failure)
+	{
+		metrics.taskFailed();
+
+		try {
+			failureHandler.handleFailure(this, task, failure);
+		} catch (Throwable ex) {
+			log.error("Failure handler failed", name, ex);
+		}
+	}
+
+	/**
+	 * Returns the count of tasks waiting for execution for the metrics. Defaults to the pending tasks which includes the
+	 * running ones.
+	 *
+	 * @return
+	 */
+	protected long getQueueDepth()
+	{
+		return pendingTasks.get();
+	}
+
+	/**
+	 * Returns the (estimated) number of workers which are currently not busy. Used to decide about splitting work.
+	 * Groups without own workers return 0.
+	 *
+	 * @return
+	 */
+	protected int getIdleWorkerCount()
+	{
+		return 0;
+	}
+
+	@Override
+	public Task asTask(Runnable runnable)
+	{
+		assertion.assertNotNull(runnable, "runnable != null");
+
+		return new RunnableTask(runnable);
+	}
+
+	@Override
+	public Task asTask(Callable callable)
+	{
+		assertion.assertNotNull(callable, "callable != null");
+
+		return new CallableTask(callable);
+	}
+
+	@Override
+	public <T> TaskFuture<T> submit(Callable<T> callable)
+	{
+		return submit(TaskPriority.FRAME, callable);
+	}
+
+	@Override
+	public <T> TaskFuture<T> submit(TaskPriority priority, Callable<T> callable)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotNull(callable, "callable != null");
+
+		TaskFuture<T> future = new StandardTaskFuture<>();
+
+		enqueue(wrap(new CallableTask<>(callable, future)), priority);
+
+		return future;
+	}
+
+	@Override
+	public <T> TaskFuture<T> submit(TaskPriority priority, CancellationToken cancellation, Callable<T> callable)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotNull(cancellation, "cancellation != null");
+		assertion.assertNotNull(callable, "callable != null");
+
+		TaskFuture<T> future = new StandardTaskFuture<>();
+		CallableTask<T> task = new CallableTask<>(callable, future);
+
+		// The future fails instead of never completing, which also cancels the futures depending on it
+		enqueue(wrap(() -> {
+			if (cancellation.isCancelled()) {
+				future.completeExceptionally(new TaskCancelledException("Task was cancelled"));
+			} else {
+				task.execute();
+			}
+		}), priority);
+
+		return future;
+	}
+
+	@Override
+	public TaskBarrier parallelBefore(Task... tasks)
+	{
+		return parallelBefore(TaskPriority.FRAME, tasks);
+	}
+
+	@Override
+	public TaskBarrier parallelBefore(TaskPriority priority, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		TaskBarrier arrive = createBarrier(tasks.length);
+
+		for (Task task : tasks) {
+			enqueue(wrap(task, arrive, null), priority);
+		}
+
+		return arrive;
+	}
+
+	@Override
+	public TaskBarrier parallelBefore(CancellationToken cancellation, Task... tasks)
+	{
+		return parallelBefore(TaskPriority.FRAME, cancellation, tasks);
+	}
+
+	@Override
+	public TaskBarrier parallelBefore(TaskPriority priority, CancellationToken cancellation, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotNull(cancellation, "cancellation != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		TaskBarrier arrive = createBarrier(tasks.length);
+
+		for (Task task : tasks) {
+			enqueue(wrap(task, arrive, cancellation), priority);
+		}
+
+		return arrive;
+	}
+
+	/**
+	 * Holds the tasks back as continuation of the barrier. They get enqueued by the final arrival, so they neither
+	 * occupy a worker nor count for join() until then. A failed barrier drops them.
+	 *
+	 * @param await
+	 * @param tasks
+	 * @return
+	 */
+	@Override
+	public TaskGroup parallelAfter(TaskBarrier await, Task... tasks)
+	{
+		assertion.assertNotNull(await, "await != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		await.whenArrived(() -> {
+
+			// The tasks depend on the ones before the barrier - they are dropped if one of them failed
+			if (await.getFailure() != null) {
+				return;
+			}
+
+			for (Task task : tasks) {
+				enqueue(wrap(task));
+			}
+		});
+
+		return this;
+	}
+
+	/**
+	 * Like parallelAfter(await, tasks) but the tasks are also dropped if the token is cancelled by the time the barrier
+	 * arrives and skipped if it is cancelled before they start.
+	 *
+	 * @param await
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	@Override
+	public TaskGroup parallelAfter(TaskBarrier await, CancellationToken cancellation, Task... tasks)
+	{
+		assertion.assertNotNull(await, "await != null");
+		assertion.assertNotNull(cancellation, "cancellation != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		await.whenArrived(() -> {
+
+			if (cancellation.isCancelled() || await.getFailure() != null) {
+				return;
+			}
+
+			for (Task task : tasks) {
+				enqueue(wrap(task, null, cancellation));
+			}
+		});
+
+		return this;
+	}
+
+	@Override
+	public TaskBarrier parallelBefore(TaskBarrier arrive, Task... tasks)
+	{
+		assertion.assertNotNull(arrive, "arrive != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		for (Task task : tasks) {
+			enqueue(wrap(task, arrive, null));
+		}
+
+		return arrive;
+	}
+
+	@Override
+	public TaskGroup parallel(Task... tasks)
+	{
+		return parallel(TaskPriority.FRAME, tasks);
+	}
+
+	@Override
+	public TaskGroup parallel(TaskPriority priority, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		enqueueAll(wrapAll(tasks, 0, tasks.length), 0, tasks.length, priority);
+
+		return this;
+	}
+
+	@Override
+	public TaskGroup parallel(CancellationToken cancellation, Task... tasks)
+	{
+		return parallel(TaskPriority.FRAME, cancellation, tasks);
+	}
+
+	@Override
+	public TaskGroup parallel(TaskPriority priority, CancellationToken cancellation, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotNull(cancellation, "cancellation != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		Task[] wrapped = new Task[tasks.length];
+
+		for (int i = 0; i < tasks.length; ++i) {
+			wrapped[i] = wrap(tasks[i], null, cancellation);
+		}
+
+		enqueueAll(wrapped, 0, wrapped.length, priority);
+
+		return this;
+	}
+
+	@Override
+	public TaskGroup parallel(List<Task> tasks)
+	{
+		assertion.assertNotNull(tasks, "tasks != null");
+
+		Task[] array = tasks.toArray(Task[]::new);
+
+		return parallel(array, 0, array.length);
+	}
+
+	@Override
+	public TaskGroup parallel(Task[] tasks, int from, int to)
+	{
+		assertion.assertNotNull(tasks, "tasks != null");
+		assertion.assertTrue(from >= 0 && from <= to && to <= tasks.length, "0 <= from <= to <= tasks.length");
+
+		if (from < to) {
+			enqueueAll(wrapAll(tasks, from, to), from, to, TaskPriority.FRAME);
+		}
+
+		return this;
+	}
+
+	@Override
+	public TaskGroup parallel(Task task)
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		enqueue(wrap(task));
+
+		return this;
+	}
+
+	/**
+	 * Wraps the tasks in the range like wrap(task). The returned array uses the same indices - it is the given one if
+	 * no task got wrapped.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	protected Task[] wrapAll(Task[] tasks, int from, int to)
+	{
+		Task[] wrapped = tasks;
+
+		for (int i = from; i < to; ++i) {
+
+			Task task = wrap(tasks[i]);
+
+			if (task != tasks[i]) {
+				if (wrapped == tasks) {
+					wrapped = Arrays.copyOf(tasks, tasks.length);
+				}
+				wrapped[i] = task;
+			}
+		}
+
+		return wrapped;
+	}
+
+	/**
+	 * Wraps the task only if the wrapper has something to do - logging or carrying the enqueue time of a sampled task.
+	 * Other tasks are enqueued as they are.
+	 *
+	 * @param task
+	 * @return
+	 */
+	protected Task wrap(Task task)
+	{
+		if (logTasks) {
+			return wrap(task, null, null);
+		}
+
+		if (metrics.sample()) {
+			return stamp(acquireWrapper(task, null, null), true);
+		}
+
+		return task;
+	}
+
+	/**
+	 * Returns a wrapper for the task. A few randomly chosen wrappers of the pool are probed, so the cost stays
+	 * constant - only if all of them are in flight a new wrapper is created.
+	 *
+	 * @param task
+	 * @param arrive barrier to arrive at after the task - null if none
+	 * @param cancellation skips the task once cancelled - null if not cancellable
+	 * @return
+	 */
+	protected StandardTaskWrapperTask wrap(Task task, TaskBarrier arrive, CancellationToken cancellation)
+	{
+		return stamp(acquireWrapper(task, arrive, cancellation), metrics.sample());
+	}
+
+	/**
+	 * Takes a wrapper from the pool or creates one if the probed wrappers are in flight.
+	 *
+	 * @param task
+	 * @param arrive
+	 * @param cancellation
+	 * @return
+	 */
+	protected StandardTaskWrapperTask acquireWrapper(Task task, TaskBarrier arrive, CancellationToken cancellation)
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		if (wrappers.length > 0) {
+
+			int start = ThreadLocalRandom.current().nextInt(wrappers.length);
+			int probes = Math.min(WRAPPER_PROBES, wrappers.length);
+
+			for (int i = 0; i < probes; ++i) {
+
+				StandardTaskWrapperTask wrapper = wrappers[(start + i) % wrappers.length];
+
+				if (wrapper.acquire(task, arrive, cancellation)) {
+					return wrapper;
+				}
+			}
+		}
+
+		return new StandardTaskWrapperTask(task, arrive, cancellation, logTasks);
+	}
+
+	/**
+	 * Sets the enqueue time of the wrapper if it is sampled for timing.
+	 *
+	 * @param wrapper
+	 * @param sampled
+	 * @return
+	 */
+	protected StandardTaskWrapperTask stamp(StandardTaskWrapperTask wrapper, boolean sampled)
+	{
+		wrapper.enqueued = sampled ? System.nanoTime() : 0L;
+
+		return wrapper;
+	}
+
+	/**
+	 * Counts a task which is not executed as it got rejected. A wrapper arrives with a TaskRejectedException and is
+	 * freed for reuse.
+	 *
+	 * @param task
+	 */
+	protected void taskRejected(Task task)
+	{
+		metrics.taskRejected();
+
+		discardWrapper(task, new TaskRejectedException("Task was rejected by task group " + name));
+	}
+
+	/**
+	 * Drops a task which is not enqueued as the group is ended. A wrapper arrives with a TaskCancelledException and is
+	 * freed for reuse.
+	 *
+	 * @param task
+	 */
+	protected void taskDropped(Task task)
+	{
+		discardWrapper(task, new TaskCancelledException("Task group " + name + " is ended"));
+	}
+
+	/**
+	 * Frees the wrapper of a task which is not executed and arrives it exceptionally - other tasks are left as they
+	 * are.
+	 *
+	 * @param task
+	 * @param reason
+	 */
+	protected static void discardWrapper(Task task, Throwable reason)
+	{
+		if (task instanceof StandardTaskWrapperTask wrapper) {
+			wrapper.discard(reason);
+		}
+	}
+
+	/**
+	 * Counts a task as done which is dropped without executing it as the group ended. A wrapper arrives with a
+	 * TaskCancelledException so barriers waiting for it do not hang.
+	 *
+	 * @param task
+	 */
+	protected void discardTask(Task task)
+	{
+		discardWrapper(task, new TaskCancelledException("Task of group " + name + " was discarded without executing"));
+
+		taskDone();
+	}
+
+	/**
+	 * Runs the given tasks sequential in order. It uses the SequentialTask for it.
+	 *
+	 * @param tasks
+	 * @return
+	 */
+	@Override
+	public TaskGroup sequential(Task... tasks)
+	{
+		return sequential(TaskPriority.FRAME, tasks);
+	}
+
+	/**
+	 * Runs the given tasks sequential in order with the given priority. It uses the SequentialTask for it.
+	 *
+	 * @param priority
+	 * @param tasks
+	 * @return
+	 */
+	@Override
+	public TaskGroup sequential(TaskPriority priority, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		enqueue(wrap(new SequentialTask(this, logTasks, tasks)), priority);
+
+		return this;
+	}
+
+	@Override
+	public TaskGroup sequential(CancellationToken cancellation, Task... tasks)
+	{
+		return sequential(TaskPriority.FRAME, cancellation, tasks);
+	}
+
+	/**
+	 * Runs the given tasks sequential in order with the given priority. The remaining steps are skipped once the token
+	 * is cancelled.
+	 *
+	 * @param priority
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	@Override
+	public TaskGroup sequential(TaskPriority priority, CancellationToken cancellation, Task... tasks)
+	{
+		assertion.assertNotNull(priority, "priority != null");
+		assertion.assertNotNull(cancellation, "cancellation != null");
+		assertion.assertNotEmpty(tasks, "tasks not empty");
+
+		enqueue(wrap(new SequentialTask(this, logTasks, cancellation, tasks)), priority);
+
+		return this;
+	}
+
+	@Override
+	public TaskBarrier parallelFor(int start, int end, IntRangeConsumer body)
+	{
+		return parallelFor(start, end, grainSize, body);
+	}
+
+	@Override
+	public TaskBarrier parallelFor(int start, int end, int grainSize, IntRangeConsumer body)
+	{
+		assertion.assertNotNull(body, "body != null");
+
+		return parallelReduce(start, end, grainSize, (from, to) -> {
+			body.accept(from, to);
+			return null;
+		}, null, null);
+	}
+
+	@Override
+	public <ResultType> TaskBarrier parallelReduce(int start, int end, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result)
+	{
+		return parallelReduce(start, end, grainSize, body, combiner, result);
+	}
+
+	@Override
+	public <ResultType> TaskBarrier parallelReduce(int start, int end, int grainSize, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result)
+	{
+		assertion.assertTrue(start <= end, "start <= end");
+		assertion.assertTrue(grainSize > 0, "grainSize > 0");
+		assertion.assertNotNull(body, "body != null");
+
+		// Empty range is done right away
+		if (start == end) {
+
+			if (result != null) {
+				result.accept(null);
+			}
+
+			TaskBarrier done = createBarrier(1);
+			done.arrive();
+
+			return done;
+		}
+
+		ParallelRangeTask<ResultType> task = new ParallelRangeTask<>(this, start, end, grainSize, body, combiner, result);
+
+		enqueue(task);
+
+		return task.getDone();
+	}
+
+	/**
+	 * Counts a task handed over to the execution of this group for join().
+	 */
+	protected void taskQueued()
+	{
+		pendingTasks.incrementAndGet();
+		metrics.taskSubmitted(1);
+	}
+
+	/**
+	 * Counts a batch of tasks handed over to the execution of this group for join().
+	 *
+	 * @param count
+	 */
+	protected void taskQueued(int count)
+	{
+		pendingTasks.addAndGet(count);
+		metrics.taskSubmitted(count);
+	}
+
+	/**
+	 * Counts a task as processed (executed or discarded) for join(). Waiters are only signaled on the transition to 0.
+	 */
+	protected void taskDone()
+	{
+		if (pendingTasks.decrementAndGet() == 0) {
+			synchronized (joinMonitor) {
+				joinMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Makes sure no task is queued or running in this group. Uses suspended waiting.
+	 *
+	 * @return
+	 */
+	@Override
+	public TaskGroup join()
+	{
+		log.trace("join:enter");
+
+		TaskGroupJoinEvent event = TaskGroupJoinEvent.isRecording() ? TaskGroupJoinEvent.start(name) : null;
+		boolean joined = false;
+
+		try {
+			synchronized (joinMonitor) {
+				while (pendingTasks.get() > 0) {
+					try {
+						joinMonitor.wait();
+					} catch (InterruptedException ex) {
+						log.error(ex);
+						return this;
+					}
+				}
+			}
+
+			joined = true;
+		} finally {
+			if (event != null) {
+				event.finish(joined);
+			}
+		}
+
+		log.trace("join:exit");
+
+		return this;
+	}
+
+	@Override
+	public boolean join(long timeOut, TimeUnit unit)
+	{
+		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+		assertion.assertNotNull(unit, "unit != null");
+
+		TaskGroupJoinEvent event = TaskGroupJoinEvent.isRecording() ? TaskGroupJoinEvent.start(name) : null;
+		boolean joined = false;
+
+		try {
+			joined = awaitPendingTasks(System.nanoTime() + unit.toNanos(timeOut));
+
+			return joined;
+		} finally {
+			if (event != null) {
+				event.finish(joined);
+			}
+		}
+	}
+
+	/**
+	 * Waits till no task is pending or the deadline passed.
+	 *
+	 * @param deadline in System.nanoTime()
+	 * @return true if no task is pending
+	 */
+	protected boolean awaitPendingTasks(long deadline)
+	{
+		synchronized (joinMonitor) {
+			while (pendingTasks.get() > 0) {
+
+				long left = deadline - System.nanoTime();
+
+				if (left <= 0) {
+					return false;
+				}
+
+				try {
+					TimeUnit.NANOSECONDS.timedWait(joinMonitor, left);
+				} catch (InterruptedException ex) {
+					log.error(ex);
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public int compareTo(Object o)
+	{
+		if (o instanceof TaskGroup taskGroup) {
+			return name.compareTo(taskGroup.getName());
+		}
+
+		return -1;
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public TaskGroupMetrics getMetrics()
+	{
+		return metrics;
+	}
+
+	@Override
+	public TaskFailureHandler getFailureHandler()
+	{
+		return failureHandler;
+	}
+
+	@Override
+	public void setFailureHandler(TaskFailureHandler failureHandler)
+	{
+		assertion.assertNotNull(failureHandler, "failureHandler != null");
+
+		this.failureHandler = failureHandler;
+	}
+
+	@Override
+	public boolean isEnding()
+	{
+		return ending;
+	}
+
+	@Override
+	public boolean isEnded()
+	{
+		return ended;
+	}
+}
@@ -0,0 +1,133 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The adaptive task barrier spins briefly, then yields and only then parks like the StandardTaskBarrier. This avoids
+ * the park and unpark costs for fine grained sync points which are usually arrived within a few microseconds.
+ *
+ * @author Benjamin Schiller
+ */
+public class AdaptiveTaskBarrier extends StandardTaskBarrier
+{
+
+	private final static Assert assertion = Assert.getAssert(AdaptiveTaskBarrier.class.getName());
+
+	/**
+	 * Default of how often isArrived() is checked with Thread.onSpinWait() in between
+	 */
+	public final static int SPINS_DEFAULT = 1024;
+
+	/**
+	 * Default of how often isArrived() is checked with Thread.yield() in between after spinning
+	 */
+	public final static int YIELDS_DEFAULT = 16;
+
+	protected final int spins;
+
+	protected final int yields;
+
+	public AdaptiveTaskBarrier(int count)
+	{
+		this(count, SPINS_DEFAULT, YIELDS_DEFAULT);
+	}
+
+	public AdaptiveTaskBarrier(int count, int spins, int yields)
+	{
+		super(count);
+
+		assertion.assertTrue(spins >= 0, "spins >= 0");
+		assertion.assertTrue(yields >= 0, "yields >= 0");
+
+		this.spins = spins;
+		this.yields = yields;
+	}
+
+	@Override
+	public void await()
+	{
+		if (!awaitActively(false, 0)) {
+			super.await();
+			return;
+		}
+
+		checkFailure();
+	}
+
+	@Override
+	public void await(long timeOut, TimeUnit unit)
+	{
+		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+		assertion.assertNotNull(unit, "unit != null");
+
+		long deadline = System.nanoTime() + unit.toNanos(timeOut);
+
+		if (!awaitActively(true, deadline)) {
+
+			long left = deadline - System.nanoTime();
+
+			if (left > 0) {
+				super.await(left, TimeUnit.NANOSECONDS);
+			}
+
+			return;
+		}
+
+		checkFailure();
+	}
+
+	/**
+	 * Spins and yields while not arrived.
+	 *
+	 * @param timed
+	 * @param deadline only checked while yielding if timed
+	 * @return true if arrived
+	 */
+	protected boolean awaitActively(boolean timed, long deadline)
+	{
+		for (int i = 0; i < spins; ++i) {
+			if (isArrived()) {
+				return true;
+			}
+			Thread.onSpinWait();
+		}
+
+		for (int i = 0; i < yields; ++i) {
+			if (isArrived()) {
+				return true;
+			}
+			if (timed && System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			Thread.yield();
+		}
+
+		return isArrived();
+	}
+}
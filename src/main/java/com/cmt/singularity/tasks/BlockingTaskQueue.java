@@ -0,0 +1,178 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This task queue is an array ring buffer - a single lock guards all operations. offerAll adds a whole range while
+ * holding the lock once.
+ *
+ * @author Benjamin Schiller
+ */
+public class BlockingTaskQueue implements TaskQueue
+{
+
+	private final static Assert assertion = Assert.getAssert(BlockingTaskQueue.class.getName());
+
+	protected final Task[] items;
+	protected final ReentrantLock lock;
+	protected final Condition notFull;
+	protected int head;
+	protected int count;
+
+	public BlockingTaskQueue(int capacity)
+	{
+		assertion.assertTrue(capacity > 0, "capacity > 0");
+
+		items = new Task[capacity];
+		lock = new ReentrantLock();
+		notFull = lock.newCondition();
+	}
+
+	/**
+	 * Has to be called with the lock held and space left.
+	 *
+	 * @param task
+	 */
+	protected void add(Task task)
+	{
+		int tail = head + count;
+
+		if (tail >= items.length) {
+			tail -= items.length;
+		}
+
+		items[tail] = task;
+		count++;
+	}
+
+	@Override
+	public boolean offer(Task task)
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		lock.lock();
+		try {
+			if (count == items.length) {
+				return false;
+			}
+
+			add(task);
+
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int offerAll(Task[] tasks, int from, int to)
+	{
+		assertion.assertNotNull(tasks, "tasks != null");
+		assertion.assertTrue(from >= 0 && from <= to && to <= tasks.length, "0 <= from <= to <= tasks.length");
+
+		lock.lock();
+		try {
+			int added = Math.min(to - from, items.length - count);
+
+			for (int i = 0; i < added; ++i) {
+				add(tasks[from + i]);
+			}
+
+			return added;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void put(Task task) throws InterruptedException
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		lock.lockInterruptibly();
+		try {
+			while (count == items.length) {
+				notFull.await();
+			}
+
+			add(task);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public Task poll()
+	{
+		lock.lock();
+		try {
+			if (count == 0) {
+				return null;
+			}
+
+			Task task = items[head];
+			items[head] = null;
+
+			if (++head == items.length) {
+				head = 0;
+			}
+			count--;
+
+			notFull.signal();
+
+			return task;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	@Override
+	public int capacity()
+	{
+		return items.length;
+	}
+}
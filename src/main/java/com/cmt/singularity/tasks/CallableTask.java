@@ -29,31 +29,68 @@ import com.cmt.singularity.assertion.Assert;
 import java.util.concurrent.Callable;
 
 /**
- * This task is a wrapper for callables.
+ * This task is a wrapper for callables. If a future is given the result or the failure of the callable completes it,
+ * otherwise the result is discarded.
  *
  * @author Benjamin Schiller
+ * @param <T> type of the result
  */
-public class CallableTask implements Task
+public class CallableTask<T> implements Task
 {
 
 	private final static Assert assertion = Assert.getAssert(CallableTask.class.getName());
 
-	protected final Callable callable;
+	protected final Callable<T> callable;
 
-	public CallableTask(Callable callable)
+	protected final TaskFuture<T> future;
+
+	public CallableTask(Callable<T> callable)
+	{
+		assertion.assertNotNull(callable, "callable != null");
+
+		this.callable = callable;
+		this.future = null;
+	}
+
+	public CallableTask(Callable<T> callable, TaskFuture<T> future)
 	{
 		assertion.assertNotNull(callable, "callable != null");
+		assertion.assertNotNull(future, "future != null");
 
 		this.callable = callable;
+		this.future = future;
 	}
 
 	@Override
 	public void execute()
 	{
+		if (future == null) {
+			try {
+				callable.call();
+			} catch (RuntimeException ex) {
+				throw ex;
+			} catch (Exception ex) {
+				throw new TaskExecutionException("Callable failed", ex);
+			}
+			return;
+		}
+
+		T result;
 		try {
-			callable.call();
-		} catch (Exception ex) {
-			throw new RuntimeException(ex);
+			result = callable.call();
+		} catch (Throwable ex) {
+			future.completeExceptionally(ex);
+			return;
 		}
+
+		// Outside of the try as continuations of the future run here
+		future.complete(result);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public TaskFuture<T> getFuture()
+	{
+		return future;
 	}
+	//</editor-fold>
 }
@@ -0,0 +1,51 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+/**
+ * The CancellationToken allows to drop queued work which became obsolete (i.e. streaming a chunk the camera has left).
+ * Task groups check the token right before executing a task - a cancelled task is skipped but still arrives at its
+ * barrier with a TaskCancelledException, so waiting code continues and await() reports the cancellation. Running tasks
+ * are not interrupted, long tasks may check isCancelled() themselves.
+ *
+ * @author Benjamin Schiller
+ */
+public interface CancellationToken
+{
+
+	/**
+	 * Cancels all tasks using this token (and tokens derived from it) which did not start yet.
+	 */
+	void cancel();
+
+	/**
+	 * Signals if the tasks using this token shall not be executed anymore - because it was cancelled, its deadline
+	 * passed or its parent got cancelled.
+	 *
+	 * @return
+	 */
+	boolean isCancelled();
+}
@@ -27,6 +27,7 @@ package com.cmt.singularity.tasks;
 
 import com.cmt.singularity.assertion.Assert;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The grouped task barrier allows to group other task barriers to act as a single barrier. This is useful when awaiting
@@ -52,13 +53,35 @@ public class GroupedTaskBarrier implements TaskBarrier
 	}
 
 	/**
-	 * Will await() each grouped barrier.
+	 * Will await() each grouped barrier. A failure is reported after all grouped barriers arrived.
 	 */
 	@Override
 	public void await()
 	{
-		for (TaskBarrier barrier : barriers) {
-			barrier.await();
+		TaskBarrierAwaitEvent event = TaskBarrierAwaitEvent.isRecording() ? TaskBarrierAwaitEvent.start(this) : null;
+		TaskExecutionException failed = null;
+
+		try {
+			for (TaskBarrier barrier : barriers) {
+				try {
+					barrier.await();
+				} catch (TaskExecutionException ex) {
+					if (barrier.getFailure() == null) {
+						throw ex;
+					}
+					if (failed == null) {
+						failed = ex;
+					}
+				}
+			}
+		} finally {
+			if (event != null) {
+				event.finish(this);
+			}
+		}
+
+		if (failed != null) {
+			throw failed;
 		}
 	}
 
@@ -76,23 +99,45 @@ public class GroupedTaskBarrier implements TaskBarrier
 		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
 		assertion.assertNotNull(unit, "unit != null");
 
+		TaskBarrierAwaitEvent event = TaskBarrierAwaitEvent.isRecording() ? TaskBarrierAwaitEvent.start(this) : null;
+
 		// Make sure to hold the timeOut contract by subtracting the used timeout duration of each contained barrier.
 		long tout = timeOut;
+		TaskExecutionException failed = null;
 
-		for (TaskBarrier barrier : barriers) {
+		try {
+			for (TaskBarrier barrier : barriers) {
 
-			long before = System.nanoTime();
+				long before = System.nanoTime();
 
-			barrier.await(tout, unit);
+				try {
+					barrier.await(tout, unit);
+				} catch (TaskExecutionException ex) {
+					if (barrier.getFailure() == null) {
+						throw ex;
+					}
+					if (failed == null) {
+						failed = ex;
+					}
+				}
 
-			// Get the delta time converted in correct units and exit the loop if all time is used up.
-			long delta = unit.convert(System.nanoTime() - before, TimeUnit.NANOSECONDS);
+				// Get the delta time converted in correct units and exit the loop if all time is used up.
+				long delta = unit.convert(System.nanoTime() - before, TimeUnit.NANOSECONDS);
 
-			tout -= delta;
+				tout -= delta;
 
-			if (tout <= 0) {
-				break;
+				if (tout <= 0) {
+					break;
+				}
 			}
+		} finally {
+			if (event != null) {
+				event.finish(this);
+			}
+		}
+
+		if (failed != null) {
+			throw failed;
 		}
 	}
 
@@ -106,4 +151,75 @@ public class GroupedTaskBarrier implements TaskBarrier
 			barrier.arrive();
 		}
 	}
+
+	/**
+	 * Will call arriveExceptionally() for all grouped barriers.
+	 *
+	 * @param failure
+	 */
+	@Override
+	public void arriveExceptionally(Throwable failure)
+	{
+		assertion.assertNotNull(failure, "failure != null");
+
+		for (TaskBarrier barrier : barriers) {
+			barrier.arriveExceptionally(failure);
+		}
+	}
+
+	/**
+	 * Returns the first failure of the grouped barriers in their order.
+	 *
+	 * @return
+	 */
+	@Override
+	public Throwable getFailure()
+	{
+		for (TaskBarrier barrier : barriers) {
+			Throwable failure = barrier.getFailure();
+			if (failure != null) {
+				return failure;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Is arrived if all grouped barriers are arrived.
+	 *
+	 * @return
+	 */
+	@Override
+	public boolean isArrived()
+	{
+		for (TaskBarrier barrier : barriers) {
+			if (!barrier.isArrived()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Will execute the continuation once after all grouped barriers are arrived.
+	 *
+	 * @param continuation
+	 */
+	@Override
+	public void whenArrived(Task continuation)
+	{
+		assertion.assertNotNull(continuation, "continuation != null");
+
+		AtomicInteger open = new AtomicInteger(barriers.length);
+
+		for (TaskBarrier barrier : barriers) {
+			barrier.whenArrived(() -> {
+				if (open.decrementAndGet() == 0) {
+					continuation.execute();
+				}
+			});
+		}
+	}
 }
@@ -0,0 +1,230 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * This task processes an index range in chunks of grainSize using lazy binary splitting. Before each chunk it checks
+ * if the group has idle workers and if so splits off the upper half of its remaining range as new task. So a range is
+ * only split as far as there are workers to take the parts - without any upfront chunking.
+ *
+ * @author Benjamin Schiller
+ * @param <ResultType>
+ */
+public class ParallelRangeTask<ResultType> implements Task
+{
+
+	private final static Assert assertion = Assert.getAssert(ParallelRangeTask.class.getName());
+
+	/**
+	 * State shared by all parts of one range
+	 */
+	protected static class Range<ResultType>
+	{
+
+		protected final AbstractTaskGroup group;
+		protected final IntRangeFunction<ResultType> body;
+		protected final BinaryOperator<ResultType> combiner;
+		protected final Consumer<ResultType> result;
+		protected final int grainSize;
+		protected final AtomicInteger openParts;
+		protected final TaskBarrier done;
+		protected ResultType combined;
+
+		/**
+		 * The first failure of a part - stops the other parts early
+		 */
+		protected volatile Throwable failure;
+
+		protected Range(AbstractTaskGroup group, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result, int grainSize)
+		{
+			this.group = group;
+			this.body = body;
+			this.combiner = combiner;
+			this.result = result;
+			this.grainSize = grainSize;
+
+			openParts = new AtomicInteger(1);
+			done = group.createBarrier(1);
+		}
+
+		protected synchronized void fail(Throwable failure)
+		{
+			if (this.failure == null) {
+				this.failure = failure;
+			}
+		}
+
+		/**
+		 * Records the failure of a part for the barrier and hands it to the failure handler of the group.
+		 *
+		 * @param part
+		 * @param failure
+		 */
+		protected void failed(Task part, Throwable failure)
+		{
+			fail(failure);
+			group.handleFailure(part, failure);
+		}
+
+		/**
+		 * Combines the partial result of a part. The last part hands the result over and arrives the barrier - a
+		 * failing combiner or result consumer arrives it exceptionally.
+		 *
+		 * @param part
+		 * @param partial
+		 */
+		protected void partDone(Task part, ResultType partial)
+		{
+			if (combiner != null && partial != null && failure == null) {
+				try {
+					synchronized (this) {
+						combined = (combined == null) ? partial : combiner.apply(combined, partial);
+					}
+				} catch (Throwable ex) {
+					failed(part, ex);
+				}
+			}
+
+			if (openParts.decrementAndGet() == 0) {
+
+				if (result != null && failure == null) {
+					try {
+						synchronized (this) {
+							result.accept(combined);
+						}
+					} catch (Throwable ex) {
+						failed(part, ex);
+					}
+				}
+
+				if (failure != null) {
+					done.arriveExceptionally(failure);
+					return;
+				}
+
+				done.arrive();
+			}
+		}
+	}
+
+	protected final Range<ResultType> range;
+	protected final int from;
+	protected int to;
+
+	protected ParallelRangeTask(Range<ResultType> range, int from, int to)
+	{
+		this.range = range;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Creates the first task of a range. Arrives the barrier of the range after all indices have been processed and
+	 * the result has been handed to the result consumer.
+	 *
+	 * @param group
+	 * @param start
+	 * @param end
+	 * @param grainSize
+	 * @param body
+	 * @param combiner may be null if no result is needed
+	 * @param result may be null if no result is needed
+	 */
+	public ParallelRangeTask(AbstractTaskGroup group, int start, int end, int grainSize, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result)
+	{
+		assertion.assertNotNull(group, "group != null");
+		assertion.assertTrue(start < end, "start < end");
+		assertion.assertTrue(grainSize > 0, "grainSize > 0");
+		assertion.assertNotNull(body, "body != null");
+
+		range = new Range<>(group, body, combiner, result, grainSize);
+		from = start;
+		to = end;
+	}
+
+	@Override
+	public void execute()
+	{
+		int grainSize = range.grainSize;
+		BinaryOperator<ResultType> combiner = range.combiner;
+		ResultType partial = null;
+		int current = from;
+
+		try {
+			while (current < to && range.failure == null) {
+
+				// Split off the upper half while there are idle workers to take it
+				int left = to - current;
+				if (left >= 2 * grainSize && range.group.getIdleWorkerCount() > 0) {
+
+					int middle = current + (left >>> 1);
+
+					range.openParts.incrementAndGet();
+					try {
+						range.group.enqueue(new ParallelRangeTask<>(range, middle, to));
+					} catch (RuntimeException ex) {
+						// The part will never run - do not wait for it
+						range.openParts.decrementAndGet();
+						throw ex;
+					}
+					to = middle;
+
+					continue;
+				}
+
+				int chunkEnd = Math.min(to, current + grainSize);
+
+				ResultType chunk = range.body.apply(current, chunkEnd);
+
+				if (combiner != null && chunk != null) {
+					partial = (partial == null) ? chunk : combiner.apply(partial, chunk);
+				}
+
+				current = chunkEnd;
+			}
+		} catch (Throwable ex) {
+			// Reported by the barrier of the range, the result consumer is not called then
+			range.failed(this, ex);
+		} finally {
+			range.partDone(this, partial);
+		}
+	}
+
+	/**
+	 * Barrier arrived after the whole range is processed - exceptionally if a part failed.
+	 *
+	 * @return
+	 */
+	public TaskBarrier getDone()
+	{
+		return range.done;
+	}
+}
@@ -0,0 +1,276 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The phased task barrier is a reusable TaskBarrier based on a Phaser. It is arrived once all registered parties
+ * arrived in the current generation and can then be reset for the next generation (i.e. the next frame) without
+ * allocating a new barrier. Parties can be registered and deregistered at any time, arrive() is lock free.
+ *
+ * @author Benjamin Schiller
+ */
+public class PhasedTaskBarrier implements TaskBarrier
+{
+
+	private final static Assert assertion = Assert.getAssert(PhasedTaskBarrier.class.getName());
+
+	/**
+	 * Never terminates, even if all parties deregistered
+	 */
+	protected final static class GenerationPhaser extends Phaser
+	{
+
+		public GenerationPhaser(int parties)
+		{
+			super(parties);
+		}
+
+		@Override
+		protected boolean onAdvance(int phase, int registeredParties)
+		{
+			return false;
+		}
+	}
+
+	protected final GenerationPhaser phaser;
+
+	/**
+	 * Continuations of the current generation - each carries its generation, so a late arrival of the previous
+	 * generation can not execute continuations of the next one
+	 */
+	protected final AtomicReference<StandardTaskBarrier.Continuation> continuations;
+
+	/**
+	 * The first failure arrived in the current generation
+	 */
+	protected final AtomicReference<Throwable> failure;
+
+	/**
+	 * The phase await(), isArrived() and whenArrived() refer to
+	 */
+	protected volatile int generation;
+
+	public PhasedTaskBarrier(int parties)
+	{
+		assertion.assertTrue(parties > 0, "parties > 0");
+
+		phaser = new GenerationPhaser(parties);
+		continuations = new AtomicReference<>();
+		failure = new AtomicReference<>();
+		generation = phaser.getPhase();
+	}
+
+	/**
+	 * Starts the next generation. The current generation has to be arrived. Continuations for the next generation may
+	 * only be registered after the reset, whenArrived() must not race it.
+	 */
+	public void reset()
+	{
+		assertion.assertTrue(isArrived(), "isArrived()");
+
+		// Continuations of the arrived generation are executed by the final arrival - make sure none is left
+		executeContinuations(generation);
+
+		failure.set(null);
+		generation = phaser.getPhase();
+	}
+
+	/**
+	 * Adds a party to this and all following generations.
+	 */
+	public void register()
+	{
+		phaser.register();
+	}
+
+	/**
+	 * Adds the given count of parties to this and all following generations.
+	 *
+	 * @param parties
+	 */
+	public void register(int parties)
+	{
+		assertion.assertTrue(parties > 0, "parties > 0");
+
+		phaser.bulkRegister(parties);
+	}
+
+	/**
+	 * Arrives and removes a party from this and all following generations.
+	 */
+	public void arriveAndDeregister()
+	{
+		advanced(phaser.arriveAndDeregister());
+	}
+
+	@Override
+	public void await()
+	{
+		try {
+			phaser.awaitAdvanceInterruptibly(generation);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+		}
+
+		checkFailure();
+	}
+
+	@Override
+	public void await(long timeOut, TimeUnit unit)
+	{
+		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+		assertion.assertNotNull(unit, "unit != null");
+
+		try {
+			phaser.awaitAdvanceInterruptibly(generation, timeOut, unit);
+		} catch (TimeoutException ex) {
+			// Like the other barriers just return after the timeout
+			return;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+		}
+
+		checkFailure();
+	}
+
+	/**
+	 * Throws a TaskExecutionException if a failure arrived in the current generation.
+	 */
+	protected void checkFailure()
+	{
+		Throwable cause = failure.get();
+
+		if (cause != null) {
+			throw new TaskExecutionException("Task failed", cause);
+		}
+	}
+
+	@Override
+	public void arrive()
+	{
+		advanced(phaser.arrive());
+	}
+
+	@Override
+	public void arriveExceptionally(Throwable failure)
+	{
+		assertion.assertNotNull(failure, "failure != null");
+
+		this.failure.compareAndSet(null, failure);
+
+		arrive();
+	}
+
+	/**
+	 * Executes the continuations once the arrival advanced the phase. This is done after the advance (not in
+	 * onAdvance) so a continuation registered meanwhile sees the generation arrived and is executed as well.
+	 *
+	 * @param phase the phase arrived at
+	 */
+	protected void advanced(int phase)
+	{
+		if (phaser.getPhase() != phase) {
+			executeContinuations(phase);
+		}
+	}
+
+	/**
+	 * Executes the continuations registered for the given generation. Takes the stack only if it holds continuations
+	 * of this generation - the next generation may have started already.
+	 *
+	 * @param phase
+	 */
+	protected void executeContinuations(int phase)
+	{
+		while (true) {
+
+			StandardTaskBarrier.Continuation head = continuations.get();
+
+			if (head == null || head.phase != phase) {
+				return;
+			}
+
+			if (continuations.compareAndSet(head, null)) {
+				StandardTaskBarrier.executeContinuations(head);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public boolean isArrived()
+	{
+		return phaser.getPhase() != generation;
+	}
+
+	@Override
+	public void whenArrived(Task continuation)
+	{
+		assertion.assertNotNull(continuation, "continuation != null");
+
+		int phase = generation;
+
+		while (true) {
+
+			StandardTaskBarrier.Continuation head = continuations.get();
+
+			if (continuations.compareAndSet(head, new StandardTaskBarrier.Continuation(continuation, head, phase))) {
+				break;
+			}
+		}
+
+		// The generation might have advanced before the registration got visible
+		if (phaser.getPhase() != phase) {
+			executeContinuations(phase);
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public int getGeneration()
+	{
+		return generation;
+	}
+
+	public int getRegisteredParties()
+	{
+		return phaser.getRegisteredParties();
+	}
+
+	@Override
+	public Throwable getFailure()
+	{
+		return failure.get();
+	}
+	//</editor-fold>
+}
@@ -0,0 +1,434 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The PumpedTaskGroup has no threads of its own. Its tasks are executed by an existing thread calling
+ * runPending(budgetNanos) - i.e. once per frame from the main loop. It allows scheduling work for thread-affine APIs
+ * (GLFW, OpenGL, OpenAL) through the TaskGroup API from any thread.
+ *
+ * The group is bound to the first thread pumping it (or ending it), only this owner executes its tasks. Priorities and
+ * aging are served like in the StandardTaskGroup. poolSize and queueSize are not used as queues are unbounded.
+ *
+ * @author Benjamin Schiller
+ */
+public class PumpedTaskGroup extends AbstractTaskGroup
+{
+
+	private final static Logger log = LogManager.getLogger(PumpedTaskGroup.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(PumpedTaskGroup.class.getName());
+
+	/**
+	 * One queue per TaskPriority - index is the ordinal
+	 */
+	protected final Queue<Task>[] queues;
+
+	protected final AtomicReference<Thread> owner;
+
+	/**
+	 * Times a level was passed over for a higher priority - only accessed by the owner
+	 */
+	protected final int[] skipped;
+
+	/**
+	 * Set while the owner executes tasks - only accessed by the owner
+	 */
+	protected boolean pumping;
+
+	protected volatile TaskBarrier terminationBarrier;
+
+	/**
+	 * Set while the owner is parked in join - submitters unpark it then
+	 */
+	protected volatile boolean ownerParked;
+
+	@SuppressWarnings("unchecked")
+	public PumpedTaskGroup(Configuration configuration, String name, int poolSize, int queueSize, boolean daemon)
+	{
+		super(configuration, name);
+
+		queues = new Queue[TaskPriority.values().length];
+		for (int i = 0; i < queues.length; ++i) {
+			queues[i] = new ConcurrentLinkedQueue<>();
+		}
+
+		skipped = new int[queues.length];
+		owner = new AtomicReference<>();
+	}
+
+	public PumpedTaskGroup(Configuration configuration, String name)
+	{
+		this(configuration, name, 1, 1, false);
+	}
+
+	@Override
+	protected void enqueue(Task task, TaskPriority priority)
+	{
+		assertion.assertNotNull(task, "task != null");
+		assertion.assertNotNull(priority, "priority != null");
+
+		if (ended) {
+			log.warn("Dropping task as group is ended", name);
+			taskDropped(task);
+			return;
+		}
+
+		taskQueued();
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(task), priority, 1);
+		}
+
+		queues[priority.ordinal()].offer(task);
+
+		// The owner set ended before its final discard - a task added after that is discarded here
+		if (ended) {
+			discardRemainingTasks();
+		}
+
+		wakeOwner();
+	}
+
+	/**
+	 * Unparks the owner if it waits for tasks in join.
+	 */
+	protected void wakeOwner()
+	{
+		if (ownerParked) {
+			LockSupport.unpark(owner.get());
+		}
+	}
+
+	/**
+	 * Parks the owner in join till a task is queued, the group is ending or the deadline passed. Submitters either see
+	 * the owner parked or the owner sees their task.
+	 *
+	 * @param deadline the deadline in nanos or 0 to wait without a timeout
+	 */
+	protected void parkOwner(long deadline)
+	{
+		ownerParked = true;
+		try {
+			if (!hasQueuedTasks() && !ending && pendingTasks.get() > 0) {
+				if (deadline == 0L) {
+					LockSupport.park(this);
+				} else {
+					LockSupport.parkNanos(this, deadline - System.nanoTime());
+				}
+			}
+		} finally {
+			ownerParked = false;
+		}
+	}
+
+	protected boolean hasQueuedTasks()
+	{
+		for (Queue<Task> queue : queues) {
+			if (!queue.isEmpty()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Discards the queued tasks after the group ended. Can be called by the owner and submitters at once.
+	 */
+	protected void discardRemainingTasks()
+	{
+		int discarded = 0;
+
+		for (Queue<Task> queue : queues) {
+			Task task;
+			while ((task = queue.poll()) != null) {
+				discardTask(task);
+				discarded++;
+			}
+		}
+
+		if (discarded > 0) {
+			log.debug("Discarded tasks on end", name, discarded);
+		}
+	}
+
+	/**
+	 * Executes queued tasks on the calling thread until no task is left or the budget is used up. The budget is checked
+	 * after each task, so at least 1 queued task is executed and a long task can exceed it. Once the group is ending all
+	 * remaining tasks are executed regardless of the budget and the group ends.
+	 *
+	 * @param budgetNanos
+	 * @return the number of executed tasks
+	 */
+	public int runPending(long budgetNanos)
+	{
+		assertion.assertTrue(budgetNanos >= 0, "budgetNanos >= 0");
+
+		bindOwner();
+
+		if (ended) {
+			return 0;
+		}
+
+		// Nested pumps from a task would break the order of execution
+		assertion.assertFalse(pumping, "pumping == false");
+
+		long deadline = System.nanoTime() + budgetNanos;
+		int executed = 0;
+
+		pumping = true;
+		try {
+			Task task;
+			while ((task = pollTask()) != null) {
+
+				runTask(task);
+				executed++;
+
+				if (!ending && System.nanoTime() - deadline >= 0) {
+					break;
+				}
+			}
+		} finally {
+			pumping = false;
+		}
+
+		if (ending) {
+			executed += drainAndEnd();
+		}
+
+		return executed;
+	}
+
+	/**
+	 * Executes all queued tasks on the calling thread.
+	 *
+	 * @return the number of executed tasks
+	 */
+	public int runPending()
+	{
+		return runPending(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Binds this group to the current thread if it is not bound yet. Fails if it is bound to another thread.
+	 */
+	protected void bindOwner()
+	{
+		Thread current = Thread.currentThread();
+
+		if (owner.get() != current && !owner.compareAndSet(null, current)) {
+			throw new RuntimeException("Task group " + name + " is bound to thread " + owner.get().getName()
+				+ " but was pumped by " + current.getName());
+		}
+	}
+
+	/**
+	 * Returns true if the current thread is the one executing the tasks of this group.
+	 *
+	 * @return
+	 */
+	public boolean isOwnerThread()
+	{
+		return owner.get() == Thread.currentThread();
+	}
+
+	protected Task pollTask()
+	{
+		// Serve aged levels first
+		for (int i = queues.length - 1; i > 0; --i) {
+			if (skipped[i] >= priorityAging) {
+				skipped[i] = 0;
+				Task task = queues[i].poll();
+				if (task != null) {
+					return task;
+				}
+			}
+		}
+
+		for (int i = 0; i < queues.length; ++i) {
+			Task task = queues[i].poll();
+			if (task != null) {
+				for (int l = i + 1; l < queues.length; ++l) {
+					if (!queues[l].isEmpty()) {
+						skipped[l]++;
+					}
+				}
+				return task;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Executes all remaining tasks (including the ones they queue) and ends the group. Tasks queued after the drain are
+	 * discarded. Only called by the owner.
+	 *
+	 * @return the number of executed tasks
+	 */
+	protected int drainAndEnd()
+	{
+		int executed = 0;
+
+		pumping = true;
+		try {
+			Task task;
+			while ((task = pollTask()) != null) {
+				runTask(task);
+				executed++;
+			}
+		} finally {
+			pumping = false;
+		}
+
+		// Ended before the final discard - a submitter which missed the flag discards its task itself
+		ended = true;
+
+		discardRemainingTasks();
+
+		log.trace("Ended", name);
+
+		terminationBarrier.arrive();
+
+		return executed;
+	}
+
+	/**
+	 * Executes the tasks of this group if called on the owner thread (no other thread would), waits for the owner to do
+	 * so otherwise.
+	 *
+	 * @return
+	 */
+	@Override
+	public TaskGroup join()
+	{
+		if (!isOwnerThread()) {
+			return super.join();
+		}
+
+		log.trace("join:enter");
+
+		// A task joining its own group would wait for itself
+		assertion.assertFalse(pumping, "pumping == false");
+
+		// Pending tasks can still be on their way into the queues from other threads - keep pumping till they are done
+		int idle = 0;
+		while (pendingTasks.get() > 0 && !ended) {
+			if (runPending() > 0) {
+				idle = 0;
+			} else if (!backoff(idle++)) {
+				parkOwner(0L);
+			}
+		}
+
+		log.trace("join:exit");
+
+		return this;
+	}
+
+	@Override
+	public boolean join(long timeOut, TimeUnit unit)
+	{
+		if (!isOwnerThread()) {
+			return super.join(timeOut, unit);
+		}
+
+		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+		assertion.assertNotNull(unit, "unit != null");
+		assertion.assertFalse(pumping, "pumping == false");
+
+		long deadline = System.nanoTime() + unit.toNanos(timeOut);
+
+		int idle = 0;
+		while (pendingTasks.get() > 0 && !ended) {
+
+			long left = deadline - System.nanoTime();
+
+			if (left <= 0) {
+				return false;
+			}
+
+			if (runPending(left) > 0) {
+				idle = 0;
+			} else if (!backoff(idle++)) {
+				parkOwner(deadline);
+			}
+		}
+
+		return pendingTasks.get() == 0;
+	}
+
+	/**
+	 * Ends this task group gracefully. Queued tasks are still executed on the owner thread - right away if called on the
+	 * owner (or the group is not bound yet, then the caller becomes the owner), else with its next runPending. The
+	 * returned barrier arrives after the last task is done.
+	 *
+	 * @return
+	 */
+	@Override
+	public TaskBarrier endGracefully()
+	{
+		assertion.assertFalse(ending, "ending == false");
+		assertion.assertFalse(ended, "ended == false");
+
+		log.trace("endGracefully:enter");
+
+		terminationBarrier = new StandardTaskBarrier(1);
+
+		ending = true;
+
+		Thread current = Thread.currentThread();
+
+		// When called from a task the pump finishes the end after the task returned
+		if ((owner.get() == current || owner.compareAndSet(null, current)) && !pumping) {
+			drainAndEnd();
+		} else {
+			wakeOwner();
+		}
+
+		log.trace("endGracefully:exit");
+
+		return terminationBarrier;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public Thread getOwner()
+	{
+		return owner.get();
+	}
+	//</editor-fold>
+}
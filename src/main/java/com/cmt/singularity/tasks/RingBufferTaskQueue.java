@@ -0,0 +1,304 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This task queue is a lock free bounded multi producer multi consumer ring buffer (see Dmitry Vyukov's bounded MPMC
+ * queue). Each slot carries a sequence number telling producers and consumers whose turn it is, so offer and poll just
+ * need a single CAS on the tail or head. Head, tail and the slot sequences are padded to own cache lines to avoid false
+ * sharing between producers and consumers.
+ *
+ * put does not suspend on a lock but backs off by spinning, yielding and short parking.
+ *
+ * @author Benjamin Schiller
+ */
+public class RingBufferTaskQueue implements TaskQueue
+{
+
+	private final static Assert assertion = Assert.getAssert(RingBufferTaskQueue.class.getName());
+
+	/**
+	 * Number of longs between 2 used slot sequences - 8 longs fill a cache line of 64 bytes
+	 */
+	protected final static int SEQUENCE_STRIDE = 8;
+
+	protected final static int BACKOFF_SPINS = 64;
+
+	protected final static int BACKOFF_YIELDS = 16;
+
+	protected final static long BACKOFF_MAX_PARK_NANOS = 1_000_000L;
+
+	protected final static VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+	protected final static VarHandle SLOT = MethodHandles.arrayElementVarHandle(Task[].class);
+
+	// <editor-fold desc="Padded counter" defaultstate="collapsed">
+	@SuppressWarnings("unused")
+	protected static class LeftPadding
+	{
+
+		protected long p01, p02, p03, p04, p05, p06, p07;
+	}
+
+	protected static class Value extends LeftPadding
+	{
+
+		protected volatile long value;
+	}
+
+	@SuppressWarnings("unused")
+	protected static class RightPadding extends Value
+	{
+
+		protected long p11, p12, p13, p14, p15, p16, p17;
+	}
+
+	/**
+	 * A long alone on its cache line (super class fields are laid out before sub class fields)
+	 */
+	protected final static class PaddedCounter extends RightPadding
+	{
+
+		protected final static VarHandle VALUE;
+
+		static {
+			try {
+				VALUE = MethodHandles.lookup().findVarHandle(Value.class, "value", long.class);
+			} catch (NoSuchFieldException | IllegalAccessException ex) {
+				throw new ExceptionInInitializerError(ex);
+			}
+		}
+
+		protected long get()
+		{
+			return value;
+		}
+
+		protected boolean compareAndSet(long expected, long newValue)
+		{
+			return VALUE.compareAndSet(this, expected, newValue);
+		}
+	}
+	// "Padded counter" </editor-fold>
+
+	protected final Task[] slots;
+	protected final long[] sequences;
+	protected final int mask;
+	protected final PaddedCounter head;
+	protected final PaddedCounter tail;
+
+	public RingBufferTaskQueue(int capacity)
+	{
+		assertion.assertTrue(capacity > 0, "capacity > 0");
+
+		int size = (capacity == 1) ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+
+		slots = new Task[size];
+		sequences = new long[size * SEQUENCE_STRIDE];
+		mask = size - 1;
+		head = new PaddedCounter();
+		tail = new PaddedCounter();
+
+		for (int i = 0; i < size; ++i) {
+			sequences[i * SEQUENCE_STRIDE] = i;
+		}
+	}
+
+	@Override
+	public boolean offer(Task task)
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		long position = tail.get();
+
+		while (true) {
+
+			int index = (int) position & mask;
+			long sequence = (long) SEQUENCE.getAcquire(sequences, index * SEQUENCE_STRIDE);
+			long difference = sequence - position;
+
+			if (difference == 0) {
+				// Slot is free for this position - claim it
+				if (tail.compareAndSet(position, position + 1)) {
+					SLOT.set(slots, index, task);
+					SEQUENCE.setRelease(sequences, index * SEQUENCE_STRIDE, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				// Slot still holds the task of the former round - full
+				return false;
+			} else {
+				// Another producer claimed this position
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Claims all free slots needed for the range with a single CAS on the tail and publishes them in order.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	@Override
+	public int offerAll(Task[] tasks, int from, int to)
+	{
+		assertion.assertNotNull(tasks, "tasks != null");
+		assertion.assertTrue(from >= 0 && from <= to && to <= tasks.length, "0 <= from <= to <= tasks.length");
+
+		int count = to - from;
+
+		if (count == 0) {
+			return 0;
+		}
+
+		while (true) {
+
+			long position = tail.get();
+			long free = slots.length - (position - head.get());
+
+			if (free <= 0) {
+				return 0;
+			}
+
+			int claimed = (int) Math.min(count, free);
+
+			if (tail.compareAndSet(position, position + claimed)) {
+
+				for (int i = 0; i < claimed; ++i) {
+
+					long slotPosition = position + i;
+					int index = (int) slotPosition & mask;
+
+					// The consumer of the former round might not have freed the slot yet
+					while ((long) SEQUENCE.getAcquire(sequences, index * SEQUENCE_STRIDE) != slotPosition) {
+						Thread.onSpinWait();
+					}
+
+					SLOT.set(slots, index, tasks[from + i]);
+					SEQUENCE.setRelease(sequences, index * SEQUENCE_STRIDE, slotPosition + 1);
+				}
+
+				return claimed;
+			}
+		}
+	}
+
+	@Override
+	public void put(Task task) throws InterruptedException
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		int attempt = 0;
+
+		while (!offer(task)) {
+
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+
+			backoff(attempt++);
+		}
+	}
+
+	@Override
+	public Task poll()
+	{
+		long position = head.get();
+
+		while (true) {
+
+			int index = (int) position & mask;
+			long sequence = (long) SEQUENCE.getAcquire(sequences, index * SEQUENCE_STRIDE);
+			long difference = sequence - (position + 1);
+
+			if (difference == 0) {
+				// Slot holds the task for this position - claim it
+				if (head.compareAndSet(position, position + 1)) {
+					Task task = (Task) SLOT.get(slots, index);
+					SLOT.set(slots, index, null);
+					// Free the slot for the next round
+					SEQUENCE.setRelease(sequences, index * SEQUENCE_STRIDE, position + mask + 1);
+					return task;
+				}
+				position = head.get();
+			} else if (difference < 0) {
+				// Producer did not publish this position yet - empty
+				return null;
+			} else {
+				// Another consumer claimed this position
+				position = head.get();
+			}
+		}
+	}
+
+	/**
+	 * Spins first, then yields and then parks for growing durations.
+	 *
+	 * @param attempt
+	 */
+	protected void backoff(int attempt)
+	{
+		if (attempt < BACKOFF_SPINS) {
+			Thread.onSpinWait();
+		} else if (attempt < BACKOFF_SPINS + BACKOFF_YIELDS) {
+			Thread.yield();
+		} else {
+			int parkRound = Math.min(20, attempt - BACKOFF_SPINS - BACKOFF_YIELDS);
+			LockSupport.parkNanos(Math.min(BACKOFF_MAX_PARK_NANOS, 1_000L << parkRound));
+		}
+	}
+
+	@Override
+	public int size()
+	{
+		// Read head first - so the size can not get negative by a poll in between
+		long h = head.get();
+		long t = tail.get();
+
+		return (int) Math.max(0, Math.min(slots.length, t - h));
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	@Override
+	public int capacity()
+	{
+		return slots.length;
+	}
+}
@@ -26,7 +26,7 @@
 package com.cmt.singularity.tasks;
 
 import com.cmt.singularity.assertion.Assert;
-import com.cmt.singularity.tasks.StandardTaskGroup.StandardTaskWrapperTask;
+import com.cmt.singularity.tasks.AbstractTaskGroup.StandardTaskWrapperTask;
 
 /**
  * This task calls the given list of tasks in order
@@ -42,28 +42,42 @@ public class SequentialTask implements Task
 	protected final TaskGroup group;
 	protected final boolean logTasks;
 
+	/**
+	 * Skips the remaining tasks once cancelled - null if not cancellable
+	 */
+	protected final CancellationToken cancellation;
+
 	public SequentialTask(TaskGroup group, boolean logTasks, Task... tasks)
+	{
+		this(group, logTasks, null, tasks);
+	}
+
+	public SequentialTask(TaskGroup group, boolean logTasks, CancellationToken cancellation, Task... tasks)
 	{
 		assertion.assertNotNull(group, "group != 0");
 		assertion.assertNotEmpty(tasks, "tasks not empty");
 
 		this.group = group;
 		this.logTasks = logTasks;
+		this.cancellation = cancellation;
 		this.tasks = tasks;
 	}
 
 	/**
-	 * Execute all tasks sequential in order. between each task the group is checked if it is ending then execution is
-	 * not continued.
+	 * Execute all tasks sequential in order. Before each task the token is checked if it is cancelled, between each task
+	 * the group is checked if it is ending then execution is not continued.
 	 */
 	@Override
 	public void execute()
 	{
 		for (Task task : tasks) {
 
-			// Create and execute wrapper (allowing logging)
-			StandardTaskWrapperTask wrapper = new StandardTaskGroup.StandardTaskWrapperTask(task, null, null, logTasks);
-			wrapper.execute();
+			if (cancellation != null && cancellation.isCancelled()) {
+				break;
+			}
+
+			// Execute like a wrapper (allowing logging) without allocating one per step
+			StandardTaskWrapperTask.run(task, logTasks);
 
 			// End early if the group is ending
 			if (group.isEnding()) {
@@ -0,0 +1,117 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The StandardCancellationToken is cancelled explicitly, by an optional deadline or by cancellation of an optional
+ * parent token. Child tokens allow to cancel a part of some work (i.e. a single chunk) or the whole of it (i.e. the
+ * level) at once.
+ *
+ * @author Benjamin Schiller
+ */
+public class StandardCancellationToken implements CancellationToken
+{
+
+	private final static Assert assertion = Assert.getAssert(StandardCancellationToken.class.getName());
+
+	protected final CancellationToken parent;
+	protected final boolean hasDeadline;
+
+	/**
+	 * Deadline in System.nanoTime() - only valid if hasDeadline
+	 */
+	protected final long deadline;
+	protected volatile boolean cancelled;
+
+	public StandardCancellationToken()
+	{
+		this(null);
+	}
+
+	public StandardCancellationToken(CancellationToken parent)
+	{
+		this.parent = parent;
+		hasDeadline = false;
+		deadline = 0;
+	}
+
+	public StandardCancellationToken(long timeOut, TimeUnit unit)
+	{
+		this(null, timeOut, unit);
+	}
+
+	public StandardCancellationToken(CancellationToken parent, long timeOut, TimeUnit unit)
+	{
+		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+		assertion.assertNotNull(unit, "unit != null");
+
+		this.parent = parent;
+		hasDeadline = true;
+		deadline = System.nanoTime() + unit.toNanos(timeOut);
+	}
+
+	@Override
+	public void cancel()
+	{
+		cancelled = true;
+	}
+
+	@Override
+	public boolean isCancelled()
+	{
+		if (cancelled) {
+			return true;
+		}
+
+		// Latch the cancellation so later checks are cheap
+		if ((hasDeadline && System.nanoTime() - deadline >= 0) || (parent != null && parent.isCancelled())) {
+			cancelled = true;
+			return true;
+		}
+
+		return false;
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public CancellationToken getParent()
+	{
+		return parent;
+	}
+
+	public boolean hasDeadline()
+	{
+		return hasDeadline;
+	}
+
+	public long getDeadline()
+	{
+		return deadline;
+	}
+	//</editor-fold>
+}
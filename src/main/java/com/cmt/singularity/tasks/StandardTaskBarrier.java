@@ -26,8 +26,11 @@
 package com.cmt.singularity.tasks;
 
 import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  *
@@ -36,26 +39,89 @@ import java.util.concurrent.TimeUnit;
 public class StandardTaskBarrier implements TaskBarrier
 {
 
+	private final static Logger log = LogManager.getLogger(StandardTaskBarrier.class.getName());
+
 	private final static Assert assertion = Assert.getAssert(StandardTaskBarrier.class.getName());
 
+	/**
+	 * Node of the lock free stack of registered continuations
+	 */
+	protected final static class Continuation
+	{
+
+		protected final Task task;
+
+		/**
+		 * Only changed by the thread that took the stack to execute it
+		 */
+		protected Continuation next;
+
+		/**
+		 * The generation it was registered for - only used by the PhasedTaskBarrier
+		 */
+		protected final int phase;
+
+		public Continuation(Task task, Continuation next)
+		{
+			this(task, next, 0);
+		}
+
+		public Continuation(Task task, Continuation next, int phase)
+		{
+			this.task = task;
+			this.next = next;
+			this.phase = phase;
+		}
+	}
+
+	/**
+	 * Marks the continuations as executed - registering after that executes directly
+	 */
+	protected final static Continuation ARRIVED = new Continuation(null, null);
+
 	protected final CountDownLatch latch;
 
+	protected final AtomicReference<Continuation> continuations;
+
+	/**
+	 * The first failure arrived - published to waiters by the latch
+	 */
+	protected final AtomicReference<Throwable> failure;
+
 	public StandardTaskBarrier(int count)
 	{
 		assertion.assertTrue(count > 0, "count > 0");
 
 		latch = new CountDownLatch(count);
+		continuations = new AtomicReference<>();
+		failure = new AtomicReference<>();
 	}
 
 	@Override
 	public void await()
 	{
+		TaskBarrierAwaitEvent event = TaskBarrierAwaitEvent.isRecording() ? TaskBarrierAwaitEvent.start(this) : null;
+		boolean traced = TaskTracer.isEnabled();
+
+		if (traced) {
+			TaskTracer.begin(TaskTracer.AWAIT);
+		}
+
 		try {
 			latch.await();
 		} catch (InterruptedException ex) {
-			// @todo Add error handling
-			throw new RuntimeException();
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+		} finally {
+			if (traced) {
+				TaskTracer.end();
+			}
+			if (event != null) {
+				event.finish(this);
+			}
 		}
+
+		checkFailure();
 	}
 
 	@Override
@@ -64,11 +130,42 @@ public class StandardTaskBarrier implements TaskBarrier
 		assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
 		assertion.assertNotNull(unit, "unit != null");
 
+		TaskBarrierAwaitEvent event = TaskBarrierAwaitEvent.isRecording() ? TaskBarrierAwaitEvent.start(this) : null;
+		boolean traced = TaskTracer.isEnabled();
+
+		if (traced) {
+			TaskTracer.begin(TaskTracer.AWAIT);
+		}
+
+		boolean arrived;
 		try {
-			latch.await(timeOut, unit);
+			arrived = latch.await(timeOut, unit);
 		} catch (InterruptedException ex) {
-			// @todo Add error handling
-			throw new RuntimeException();
+			Thread.currentThread().interrupt();
+			throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+		} finally {
+			if (traced) {
+				TaskTracer.end();
+			}
+			if (event != null) {
+				event.finish(this);
+			}
+		}
+
+		if (arrived) {
+			checkFailure();
+		}
+	}
+
+	/**
+	 * Throws a TaskExecutionException if a failure arrived.
+	 */
+	protected void checkFailure()
+	{
+		Throwable cause = failure.get();
+
+		if (cause != null) {
+			throw new TaskExecutionException("Task failed", cause);
 		}
 	}
 
@@ -76,5 +173,125 @@ public class StandardTaskBarrier implements TaskBarrier
 	public void arrive()
 	{
 		latch.countDown();
+
+		if (latch.getCount() == 0) {
+			executeContinuations();
+		}
+	}
+
+	@Override
+	public void arriveExceptionally(Throwable failure)
+	{
+		assertion.assertNotNull(failure, "failure != null");
+
+		this.failure.compareAndSet(null, failure);
+
+		arrive();
+	}
+
+	@Override
+	public boolean isArrived()
+	{
+		return latch.getCount() == 0;
+	}
+
+	@Override
+	public void whenArrived(Task continuation)
+	{
+		assertion.assertNotNull(continuation, "continuation != null");
+
+		// The final arrival might have happened before the registration got visible
+		if (addContinuation(continuations, continuation) && isArrived()) {
+			executeContinuations();
+		}
+	}
+
+	/**
+	 * Executes all registered continuations exactly once - the first caller after the final arrival wins.
+	 */
+	protected void executeContinuations()
+	{
+		executeContinuations(continuations);
+	}
+
+	/**
+	 * Pushes the continuation onto the given stack or executes it directly if the stack got executed already. Shared
+	 * by the barriers keeping continuations.
+	 *
+	 * @param stack
+	 * @param continuation
+	 * @return true if pushed - the caller has to recheck if it arrived meanwhile
+	 */
+	protected static boolean addContinuation(AtomicReference<Continuation> stack, Task continuation)
+	{
+		while (true) {
+
+			Continuation head = stack.get();
+
+			if (head == ARRIVED) {
+				executeContinuation(continuation);
+				return false;
+			}
+
+			if (stack.compareAndSet(head, new Continuation(continuation, head))) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Executes the continuations of the given stack exactly once and marks it as executed.
+	 *
+	 * @param stack
+	 */
+	protected static void executeContinuations(AtomicReference<Continuation> stack)
+	{
+		executeContinuations(stack.getAndSet(ARRIVED));
+	}
+
+	/**
+	 * Executes the continuations of a stack taken by the caller. The stack holds the latest registration on top, so it
+	 * gets reversed in place to execute them in registration order.
+	 *
+	 * @param head
+	 */
+	protected static void executeContinuations(Continuation head)
+	{
+		Continuation first = null;
+
+		while (head != null && head != ARRIVED) {
+			Continuation next = head.next;
+			head.next = first;
+			first = head;
+			head = next;
+		}
+
+		while (first != null) {
+			executeContinuation(first.task);
+			first = first.next;
+		}
+	}
+
+	/**
+	 * Executes a continuation and logs its failure - it does not escape into arrive() of the arriving task and the
+	 * other continuations still execute.
+	 *
+	 * @param continuation
+	 */
+	protected static void executeContinuation(Task continuation)
+	{
+		try {
+			continuation.execute();
+		} catch (Throwable ex) {
+			log.error("Continuation failed", continuation.getClass().getName(), ex);
+		}
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	@Override
+	public Throwable getFailure()
+	{
+		return failure.get();
 	}
+	//</editor-fold>
 }
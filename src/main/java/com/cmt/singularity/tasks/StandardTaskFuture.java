@@ -0,0 +1,158 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Future based on the StandardTaskBarrier. Result and failure are published by the arrival.
+ *
+ * @author Benjamin Schiller
+ * @param <T> type of the result
+ */
+public class StandardTaskFuture<T> extends StandardTaskBarrier implements TaskFuture<T>
+{
+
+	private final static Assert assertion = Assert.getAssert(StandardTaskFuture.class.getName());
+
+	protected T result;
+
+	/**
+	 * Set by the first completion - a future can only be completed once
+	 */
+	protected final AtomicBoolean completed;
+
+	public StandardTaskFuture()
+	{
+		super(1);
+
+		completed = new AtomicBoolean();
+	}
+
+	@Override
+	public T get()
+	{
+		await();
+
+		return getResult();
+	}
+
+	@Override
+	public T get(long timeOut, TimeUnit unit)
+	{
+		await(timeOut, unit);
+
+		if (!isArrived()) {
+			throw new TaskExecutionException("Result not available after " + timeOut + " " + unit);
+		}
+
+		return getResult();
+	}
+
+	protected T getResult()
+	{
+		checkFailure();
+
+		return result;
+	}
+
+	@Override
+	public void complete(T result)
+	{
+		if (!completed.compareAndSet(false, true)) {
+			throw new RuntimeException("Future is completed already");
+		}
+
+		this.result = result;
+
+		arrive();
+	}
+
+	@Override
+	public void completeExceptionally(Throwable failure)
+	{
+		if (!tryCompleteExceptionally(failure)) {
+			throw new RuntimeException("Future is completed already", failure);
+		}
+	}
+
+	/**
+	 * Sets the failure and arrives if the future is not completed yet.
+	 *
+	 * @param failure
+	 * @return false if the future was completed already
+	 */
+	protected boolean tryCompleteExceptionally(Throwable failure)
+	{
+		assertion.assertNotNull(failure, "failure != null");
+
+		if (!completed.compareAndSet(false, true)) {
+			return false;
+		}
+
+		arriveExceptionally(failure);
+
+		return true;
+	}
+
+	@Override
+	public <R> TaskFuture<R> thenOnGroup(TaskGroup group, Function<? super T, ? extends R> function)
+	{
+		assertion.assertNotNull(group, "group != null");
+		assertion.assertNotNull(function, "function != null");
+
+		StandardTaskFuture<R> next = new StandardTaskFuture<>();
+
+		whenArrived(() -> {
+
+			Throwable cause = getFailure();
+
+			if (cause != null) {
+				next.completeExceptionally(cause);
+				return;
+			}
+
+			// The task completes next - unless it is rejected or dropped by the group, then next fails instead
+			try {
+				TaskBarrier submitted = group.parallelBefore(new CallableTask<>(() -> function.apply(result), next));
+
+				submitted.whenArrived(() -> {
+					Throwable dropped = submitted.getFailure();
+					if (dropped != null) {
+						next.tryCompleteExceptionally(dropped);
+					}
+				});
+			} catch (Throwable ex) {
+				next.tryCompleteExceptionally(ex);
+			}
+		});
+
+		return next;
+	}
+}
@@ -25,95 +25,92 @@
 //</editor-fold>
 package com.cmt.singularity.tasks;
 
+import com.cmt.singularity.ConfigKey;
 import com.cmt.singularity.Configuration;
 import com.cmt.singularity.assertion.Assert;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
-import java.util.UUID;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
+ * Task group with a fixed pool of workers sharing one queue per TaskPriority. Workers serve the queues in order of
+ * their priority, a lower priority is served once it was skipped priorityAging times. Idle workers spin, yield and then
+ * park till a task is queued (see TaskGroup idleSpins and idleYields).
  *
  * @author Benjamin Schiller
  */
-public class StandardTaskGroup implements TaskGroup, Comparable
+public class StandardTaskGroup extends AbstractTaskGroup
 {
 
 	private final static Logger log = LogManager.getLogger(StandardTaskGroup.class.getName());
 
 	private final static Assert assertion = Assert.getAssert(StandardTaskGroup.class.getName());
 
-	public static class StandardTaskWrapperTask implements Task
-	{
-
-		protected final Task task;
-		protected final TaskBarrier await;
-		protected final TaskBarrier arrive;
-		protected final String taskLog;
-		protected final boolean logTasks;
-
-		public StandardTaskWrapperTask(Task task, boolean logTasks)
-		{
-			this(task, null, null, logTasks);
-		}
-
-		public StandardTaskWrapperTask(Task task, TaskBarrier await, TaskBarrier arrive, boolean logTasks)
-		{
-			assertion.assertNotNull(task, "task != null");
-
-			this.task = task;
-			this.await = await;
-			this.arrive = arrive;
-			this.logTasks = logTasks;
-			taskLog = task.getClass().getName() + ".execute";
-		}
+	/**
+	 * Key in config for the class of the TaskQueue. A single group can be configured by appending "." and its name to
+	 * the key.
+	 */
+	public final static String CONFIGURATION_QUEUE_CLASS_KEY = "com.cmt.singularity.tasks.StandardTaskGroup.queueClass";
 
-		@Override
-		public void execute()
-		{
-			if (logTasks) {
-				log.debug(taskLog + ":enter");
-				log.start(taskLog);
-			}
+	/**
+	 * Default in config for the class of the TaskQueue
+	 */
+	public final static Class<? extends TaskQueue> CONFIGURATION_QUEUE_CLASS_DEFAULT = BlockingTaskQueue.class;
 
-			if (await != null) {
-				await.arrive();
-			}
+	/**
+	 * Typed key of the class of the TaskQueue
+	 */
+	public final static ConfigKey<Class<?>> CONFIGURATION_QUEUE_CLASS = ConfigKey.ofClass(CONFIGURATION_QUEUE_CLASS_KEY, CONFIGURATION_QUEUE_CLASS_DEFAULT);
 
-			task.execute();
+	/**
+	 * Key in config for the TaskQueueOverflowPolicy. A single group can be configured by appending "." and its name to
+	 * the key.
+	 */
+	public final static String CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY = "com.cmt.singularity.tasks.StandardTaskGroup.queueOverflowPolicy";
 
-			if (arrive != null) {
-				arrive.arrive();
-			}
+	/**
+	 * Default in config for the TaskQueueOverflowPolicy
+	 */
+	public final static TaskQueueOverflowPolicy CONFIGURATION_QUEUE_OVERFLOW_POLICY_DEFAULT = TaskQueueOverflowPolicy.REJECT;
 
-			if (logTasks) {
-				log.stopDebug(taskLog);
-				log.debug(taskLog + ":exit");
-			}
-		}
-	}
+	/**
+	 * Typed key of the TaskQueueOverflowPolicy
+	 */
+	public final static ConfigKey<TaskQueueOverflowPolicy> CONFIGURATION_QUEUE_OVERFLOW_POLICY = ConfigKey.of(CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY, TaskQueueOverflowPolicy.class, CONFIGURATION_QUEUE_OVERFLOW_POLICY_DEFAULT);
 
 	protected final class Worker extends Thread
 	{
 
-		protected final UUID id;
+		protected final int index;
 
-		protected TaskBarrier terminationBarrier;
+		/**
+		 * Set by the worker before parking, cleared by whoever unparks it
+		 */
+		protected final AtomicBoolean parked;
 
-		protected boolean ended;
+		protected volatile TaskBarrier terminationBarrier;
 
-		public Worker(String name, boolean daemon)
+		protected volatile boolean ended;
+
+		/**
+		 * How often each priority level was skipped while having tasks - only accessed by this worker
+		 */
+		protected final int[] skipped;
+
+		public Worker(String name, int index, boolean daemon)
 		{
 			super();
 
 			assertion.assertNotNull(name, "name != null");
 
-			id = UUID.randomUUID();
-			setName(name + " " + id);
+			this.index = index;
+			skipped = new int[queues.length];
+			parked = new AtomicBoolean();
+			setName(name + " " + index);
 			setDaemon(daemon);
 		}
 
@@ -124,6 +121,8 @@ public class StandardTaskGroup implements TaskGroup, Comparable
 			log.trace("Terminating", getName());
 
 			this.terminationBarrier = terminationBarrier;
+
+			LockSupport.unpark(this);
 		}
 
 		@Override
@@ -131,33 +130,22 @@ public class StandardTaskGroup implements TaskGroup, Comparable
 		{
 			log.trace("Starting", getName());
 
-			while (terminationBarrier == null) {
+			pinWorker(index);
 
-				Task task = null;
-				try {
-					// @todo What is the right value here for poll time out?
-					task = queue.poll(100, TimeUnit.MILLISECONDS);
-				} catch (InterruptedException ex) {
-					// do nothing
-				}
+			int idleRounds = 0;
 
-				if (task != null) {
-					runningWorkerTasks.incrementAndGet();
+			while (true) {
 
-					try {
-						task.execute();
-					} catch (Throwable ex) {
-						// @todo what to do with those ex?
-						log.error(ex);
-					}
+				if (claimTask()) {
 
-					runningWorkerTasks.decrementAndGet();
+					runTask(pollTask(this));
 
-					if (workerMonitor != null) {
-						synchronized (workerMonitor) {
-							workerMonitor.notifyAll();
-						}
-					}
+					idleRounds = 0;
+				} // Exit once the tasks queued before the termination are drained
+				else if (terminationBarrier != null) {
+					break;
+				} else if (!backoff(idleRounds++)) {
+					idle(this);
 				}
 			}
 
@@ -173,8 +161,11 @@ public class StandardTaskGroup implements TaskGroup, Comparable
 				}
 			}
 
+			// Ended before the drain - a submitter which missed the flag either sees its task discarded here or
+			// discards it itself
 			if (allEnded) {
 				StandardTaskGroup.this.ended = true;
+				discardRemainingTasks();
 			}
 
 			log.trace("Exiting", getName());
@@ -183,145 +174,380 @@ public class StandardTaskGroup implements TaskGroup, Comparable
 		}
 	}
 
-	protected final String name;
 	protected final Worker[] workers;
-	protected final BlockingQueue<Task> queue;
-	protected final AtomicInteger runningWorkerTasks;
-	protected final Object workerMonitor;
-	protected final boolean logTasks;
-	protected boolean ending;
-	protected boolean ended;
+	protected final TaskQueue[] queues;
+	protected final AtomicInteger queuedTasks;
+
+	/**
+	 * Published and not yet polled tasks per priority - lets workers count skipped levels without probing the queues
+	 */
+	protected final AtomicIntegerArray queuedPerPriority;
+
+	protected final AtomicInteger idleWorkers;
+	protected final TaskQueueOverflowPolicy overflowPolicy;
 
 	@SuppressWarnings("CallToThreadStartDuringObjectConstruction")
 	public StandardTaskGroup(Configuration configuration, String name, int poolSize, int queueSize, boolean daemon)
 	{
-		assertion.assertNotNull(configuration, "configuration != null");
-		assertion.assertNotNull(name, "name != null");
+		super(configuration, name);
+
 		assertion.assertTrue(poolSize > 0, "poolSize > 0");
 		assertion.assertTrue(queueSize > 0, "queueSize > 0");
 
-		this.name = name;
+		queuedTasks = new AtomicInteger();
+		queuedPerPriority = new AtomicIntegerArray(TaskPriority.values().length);
+		idleWorkers = new AtomicInteger();
 
-		// Assign an object to allow waiting
-		workerMonitor = "";
-
-		runningWorkerTasks = new AtomicInteger();
+		queues = new TaskQueue[TaskPriority.values().length];
+		for (int i = 0; i < queues.length; ++i) {
+			queues[i] = createQueue(configuration, name, queueSize);
+		}
 
-		queue = new ArrayBlockingQueue(queueSize, false);
+		overflowPolicy = getGroupConfiguration(configuration.getSnapshot(), name, CONFIGURATION_QUEUE_OVERFLOW_POLICY);
 
 		workers = new Worker[poolSize];
 
 		for (int i = 0; i < poolSize; ++i) {
 
-			workers[i] = new Worker(name, daemon);
+			workers[i] = new Worker(name, i, daemon);
 			workers[i].start();
 		}
-
-		logTasks = configuration.getBoolean(COFIGURATION_TASK_GROUP_LOG_KEY, COFIGURATION_TASK_GROUP_LOG_DEFAULT);
 	}
 
-	@Override
-	public Task asTask(Runnable runnable)
+	protected static TaskQueue createQueue(Configuration configuration, String name, int queueSize)
 	{
-		assertion.assertNotNull(runnable, "runnable != null");
+		Class<?> queueClass = getGroupConfiguration(configuration.getSnapshot(), name, CONFIGURATION_QUEUE_CLASS);
 
-		return new RunnableTask(runnable);
+		try {
+			return (TaskQueue) queueClass.getConstructor(int.class).newInstance(queueSize);
+		} catch (IllegalAccessException | IllegalArgumentException | InstantiationException | NoSuchMethodException | InvocationTargetException ex) {
+			throw new RuntimeException(ex);
+		}
 	}
 
+	/**
+	 * Adds the task to the queue of its priority. If the queue is full the overflow policy decides what happens.
+	 *
+	 * @param task
+	 * @param priority
+	 */
 	@Override
-	public Task asTask(Callable callable)
+	protected void enqueue(Task task, TaskPriority priority)
 	{
-		assertion.assertNotNull(callable, "callable != null");
+		if (ended) {
+			log.warn("Dropping task as group is ended", name);
+			taskDropped(task);
+			return;
+		}
+
+		taskQueued();
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(task), priority, 1);
+		}
+
+		TaskQueue queue = queues[priority.ordinal()];
 
-		return new CallableTask(callable);
+		if (queue.offer(task)) {
+			published(priority, 1);
+		} else {
+			overflow(priority, task);
+		}
+
+		discardIfEnded();
 	}
 
+	/**
+	 * Adds the tasks to the queue of their priority with a single queue operation and wakes as many workers. Tasks not
+	 * fitting into the queue are handled by the overflow policy one by one.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @param priority
+	 */
 	@Override
-	public TaskBarrier parallelBefore(Task... tasks)
+	protected void enqueueAll(Task[] tasks, int from, int to, TaskPriority priority)
 	{
-		assertion.assertNotEmpty(tasks, "tasks not empty");
+		if (ended) {
+			log.warn("Dropping tasks as group is ended", name, to - from);
+			for (int i = from; i < to; ++i) {
+				taskDropped(tasks[i]);
+			}
+			return;
+		}
+
+		taskQueued(to - from);
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(tasks[from]), priority, to - from);
+		}
+
+		TaskQueue queue = queues[priority.ordinal()];
 
-		TaskBarrier arrive = new StandardTaskBarrier(tasks.length);
+		int added = queue.offerAll(tasks, from, to);
 
-		for (Task task : tasks) {
-			queue.add(new StandardTaskWrapperTask(task, null, arrive, logTasks));
+		if (added > 0) {
+			published(priority, added);
 		}
 
-		return arrive;
+		try {
+			for (int i = from + added; i < to; ++i) {
+				try {
+					overflow(priority, tasks[i]);
+				} catch (TaskRejectedException ex) {
+					// The rest of the batch is rejected as well
+					for (int r = i + 1; r < to; ++r) {
+						taskRejected(tasks[r]);
+						taskDone();
+					}
+					throw ex;
+				}
+			}
+		} finally {
+			discardIfEnded();
+		}
 	}
 
-	@Override
-	public TaskGroup parallelAfter(TaskBarrier await, Task... tasks)
+	/**
+	 * Discards what is left in the queues if the group ended while tasks were added. The last worker sets ended before
+	 * its final drain, so a task published after that drain is discarded here instead of being stranded.
+	 */
+	protected void discardIfEnded()
 	{
-		assertion.assertNotNull(await, "await != null");
-		assertion.assertNotEmpty(tasks, "tasks not empty");
+		if (ended) {
+			discardRemainingTasks();
+		}
+	}
 
-		for (Task task : tasks) {
-			queue.add(new StandardTaskWrapperTask(task, await, null, logTasks));
+	/**
+	 * Handles a task not fitting into the queue by the overflow policy. The task is already counted as queued.
+	 *
+	 * @param priority
+	 * @param task
+	 */
+	protected void overflow(TaskPriority priority, Task task)
+	{
+		TaskQueue queue = queues[priority.ordinal()];
+
+		switch (overflowPolicy) {
+			case BLOCK -> {
+				try {
+					queue.put(task);
+					published(priority, 1);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					taskRejected(task);
+					taskDone();
+					throw new TaskRejectedException("Interrupted while waiting for space in the queue of task group " + name);
+				}
+			}
+			case SPIN -> {
+				while (!queue.offer(task)) {
+					Thread.onSpinWait();
+				}
+				published(priority, 1);
+			}
+			case RUN_ON_CALLER ->
+				runTask(task);
+			case REJECT -> {
+				taskRejected(task);
+				taskDone();
+				throw new TaskRejectedException("The queue of task group " + name + " is full");
+			}
 		}
+	}
 
-		return this;
+	/**
+	 * Counts the tasks as queued and wakes as many parked workers.
+	 *
+	 * @param priority
+	 * @param count
+	 */
+	protected void published(TaskPriority priority, int count)
+	{
+		queuedPerPriority.addAndGet(priority.ordinal(), count);
+		queuedTasks.addAndGet(count);
+		signalWork(count);
 	}
 
-	@Override
-	public TaskGroup parallel(Task... tasks)
+	/**
+	 * Claims one of the queued tasks for the calling worker.
+	 *
+	 * @return true if a task was claimed - pollTask then returns it
+	 */
+	protected boolean claimTask()
 	{
-		assertion.assertNotEmpty(tasks, "tasks not empty");
+		while (true) {
+
+			int queued = queuedTasks.get();
+
+			if (queued == 0) {
+				return false;
+			}
+
+			if (queuedTasks.compareAndSet(queued, queued - 1)) {
+				return true;
+			}
+		}
+	}
+
+	protected void idle(Worker worker)
+	{
+		worker.parked.set(true);
+		idleWorkers.incrementAndGet();
+
+		// Recheck after announcing to be idle - a submitter either sees the idle worker or the worker sees the task
+		if (queuedTasks.get() == 0 && worker.terminationBarrier == null) {
+
+			WorkerParkEvent event = WorkerParkEvent.isRecording() ? WorkerParkEvent.start(name) : null;
+			boolean traced = TaskTracer.isEnabled();
+
+			if (traced) {
+				TaskTracer.begin(TaskTracer.IDLE);
+			}
+
+			LockSupport.park(this);
+
+			if (traced) {
+				TaskTracer.end();
+			}
 
-		for (Task task : tasks) {
-			queue.add(new StandardTaskWrapperTask(task, null, null, logTasks));
+			if (event != null) {
+				event.commit();
+			}
 		}
 
-		return this;
+		idleWorkers.decrementAndGet();
+		worker.parked.set(false);
 	}
 
 	/**
-	 * Runs the given tasks sequential in order. It uses the SequentialTask for it.
+	 * Unparks up to count parked workers.
 	 *
-	 * @param tasks
+	 * @param count
+	 */
+	protected void signalWork(int count)
+	{
+		if (idleWorkers.get() == 0) {
+			return;
+		}
+
+		int woken = 0;
+
+		for (Worker worker : workers) {
+			if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+				LockSupport.unpark(worker);
+				if (++woken == count) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes the next task from the queues after the worker claimed one of the queued tasks. Levels which were skipped
+	 * priorityAging times are served first, otherwise the highest priority with a task wins.
+	 *
+	 * @param worker
 	 * @return
 	 */
-	@Override
-	public TaskGroup sequential(Task... tasks)
+	protected Task pollTask(Worker worker)
 	{
-		assertion.assertNotEmpty(tasks, "tasks not empty");
+		int[] skipped = worker.skipped;
+
+		while (true) {
+
+			// Serve aged levels first
+			for (int i = queues.length - 1; i > 0; --i) {
+				if (skipped[i] >= priorityAging) {
+					skipped[i] = 0;
+					Task task = queues[i].poll();
+					if (task != null) {
+						queuedPerPriority.decrementAndGet(i);
+						return task;
+					}
+				}
+			}
 
-		queue.add(
-			new StandardTaskWrapperTask(
-				new SequentialTask(this, logTasks, tasks), null, null, logTasks)
-		);
+			for (int i = 0; i < queues.length; ++i) {
+				Task task = queues[i].poll();
+				if (task != null) {
+					queuedPerPriority.decrementAndGet(i);
+					// Read the counters instead of probing the queues, which would take their locks
+					for (int l = i + 1; l < queues.length; ++l) {
+						if (queuedPerPriority.get(l) > 0) {
+							skipped[l]++;
+						}
+					}
+					return task;
+				}
+			}
+
+			// The claim guarantees a task - it is taken by another worker right now which claimed as well
+			Thread.onSpinWait();
+		}
+	}
+
+	/**
+	 * Discards the queued tasks after the workers ended. Can be called by multiple threads at once, each discards the
+	 * tasks it claimed.
+	 */
+	protected void discardRemainingTasks()
+	{
+		int discarded = 0;
 
-		return this;
+		while (claimTask()) {
+			discardTask(pollAnyTask());
+			discarded++;
+		}
+
+		if (discarded > 0) {
+			log.debug("Discarded tasks on end", name, discarded);
+		}
 	}
 
 	/**
-	 * Makes sure the queue is empty and all workers have processed their tasks. Uses suspended waiting
+	 * Takes a task of any priority after claiming one, ignoring the aging of the workers.
 	 *
 	 * @return
 	 */
-	@Override
-	public TaskGroup join()
+	protected Task pollAnyTask()
 	{
-		log.trace("join:enter");
+		while (true) {
 
-		synchronized (workerMonitor) {
-			while (!queue.isEmpty() || runningWorkerTasks.get() > 0) {
-				try {
-					workerMonitor.wait();
-				} catch (InterruptedException ex) {
-					log.error(ex);
-					return this;
+			for (int i = 0; i < queues.length; ++i) {
+				Task task = queues[i].poll();
+				if (task != null) {
+					queuedPerPriority.decrementAndGet(i);
+					return task;
 				}
 			}
+
+			Thread.onSpinWait();
 		}
+	}
 
-		log.trace("join:exit");
+	/**
+	 * Returns the tasks published to the queues and not claimed by a worker yet.
+	 *
+	 * @return
+	 */
+	@Override
+	protected long getQueueDepth()
+	{
+		return queuedTasks.get();
+	}
 
-		return this;
+	@Override
+	protected int getIdleWorkerCount()
+	{
+		return (int) Math.max(0, workers.length - pendingTasks.get());
 	}
 
 	/**
-	 * Ends this task group gracefully (terminates workers) allowing waiting for its workers to terminate.
+	 * Ends this task group gracefully (terminates workers) allowing waiting for its workers to terminate. Tasks queued
+	 * before are still executed.
 	 *
 	 * @return
 	 */
@@ -345,32 +571,4 @@ public class StandardTaskGroup implements TaskGroup, Comparable
 
 		return terminationBarrier;
 	}
-
-	@Override
-	public int compareTo(Object o)
-	{
-		if (o instanceof TaskGroup taskGroup) {
-			return name.compareTo(taskGroup.getName());
-		}
-
-		return -1;
-	}
-
-	@Override
-	public String getName()
-	{
-		return name;
-	}
-
-	@Override
-	public boolean isEnding()
-	{
-		return ending;
-	}
-
-	@Override
-	public boolean isEnded()
-	{
-		return ended;
-	}
 }
@@ -29,6 +29,7 @@ import com.cmt.singularity.Configuration;
 import com.cmt.singularity.assertion.Assert;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
+import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.concurrent.ConcurrentSkipListSet;
 
@@ -44,7 +45,7 @@ public class StandardTasks implements Tasks
 
 	private final static Assert assertion = Assert.getAssert(StandardTasks.class.getName());
 
-	protected final Set<StandardTaskGroup> groups = new ConcurrentSkipListSet<>();
+	protected final Set<TaskGroup> groups = new ConcurrentSkipListSet<>(Comparator.comparing(TaskGroup::getName));
 
 	protected final Configuration configuration;
 
@@ -53,18 +54,38 @@ public class StandardTasks implements Tasks
 		assertion.assertNotNull(configuration, "configuration != null");
 
 		this.configuration = configuration;
+
+		if (configuration.getBoolean(TaskTracer.CONFIGURATION_ENABLED_KEY, TaskTracer.CONFIGURATION_ENABLED_DEFAULT)) {
+			TaskTracer.enable(configuration.getInt(TaskTracer.CONFIGURATION_BUFFER_SIZE_KEY, TaskTracer.CONFIGURATION_BUFFER_SIZE_DEFAULT));
+		}
 	}
 
 	@Override
 	public TaskGroup createTaskGroup(String name, int poolSize, int queueSize, boolean daemon)
+	{
+		assertion.assertNotNull(name, "name != null");
+
+		return createTaskGroup(name, poolSize, queueSize, daemon, getTaskGroupClass(name));
+	}
+
+	@Override
+	public TaskGroup createTaskGroup(String name, int poolSize, int queueSize, boolean daemon, Class<? extends TaskGroup> groupClass)
 	{
 		assertion.assertNotNull(name, "name != null");
 		assertion.assertTrue(poolSize > 0, "poolSize > 0");
 		assertion.assertTrue(queueSize > 0, "queueSize > 0");
+		assertion.assertNotNull(groupClass, "groupClass != null");
 
 		log.trace("createTaskGroup:enter");
 
-		StandardTaskGroup group = new StandardTaskGroup(configuration, name, poolSize, queueSize, daemon);
+		TaskGroup group;
+		try {
+			group = groupClass
+				.getConstructor(Configuration.class, String.class, int.class, int.class, boolean.class)
+				.newInstance(configuration, name, poolSize, queueSize, daemon);
+		} catch (IllegalAccessException | IllegalArgumentException | InstantiationException | NoSuchMethodException | InvocationTargetException ex) {
+			throw new RuntimeException(ex);
+		}
 
 		groups.add(group);
 
@@ -73,6 +94,27 @@ public class StandardTasks implements Tasks
 		return group;
 	}
 
+	@Override
+	public PumpedTaskGroup createPumpedTaskGroup(String name)
+	{
+		assertion.assertNotNull(name, "name != null");
+
+		return (PumpedTaskGroup) createTaskGroup(name, 1, 1, false, PumpedTaskGroup.class);
+	}
+
+	/**
+	 * Returns the configured group class for the given group name falling back to the general configured group class.
+	 *
+	 * @param name
+	 * @return
+	 */
+	protected Class<? extends TaskGroup> getTaskGroupClass(String name)
+	{
+		assertion.assertNotNull(name, "name != null");
+
+		return (Class<? extends TaskGroup>) AbstractTaskGroup.getGroupConfiguration(configuration.getSnapshot(), name, CONFIGURATION_TASK_GROUP_CLASS);
+	}
+
 	@Override
 	public void join()
 	{
@@ -95,12 +137,12 @@ public class StandardTasks implements Tasks
 		log.trace("endGracefully:enter");
 
 		// Create copy to make sure the list does not change while iterating to make behavior easier to reason
-		List<StandardTaskGroup> g = new ArrayList<>(groups);
+		List<TaskGroup> g = new ArrayList<>(groups);
 
 		TaskBarrier[] barriers = new TaskBarrier[g.size()];
 
 		int i = 0;
-		for (StandardTaskGroup group : g) {
+		for (TaskGroup group : g) {
 			barriers[i] = group.endGracefully();
 			i++;
 		}
@@ -117,7 +159,19 @@ public class StandardTasks implements Tasks
 	{
 		assertion.assertNotNull(name, "name != null");
 
-		return Optional.ofNullable((StandardTaskGroup) groups.stream().filter((tg) -> tg.getName().equals(name)).findAny().orElse(null));
+		return groups.stream().filter((tg) -> tg.getName().equals(name)).findAny();
+	}
+
+	@Override
+	public Map<String, TaskGroupMetrics> getMetrics()
+	{
+		Map<String, TaskGroupMetrics> metrics = new TreeMap<>();
+
+		for (TaskGroup group : groups) {
+			metrics.put(group.getName(), group.getMetrics());
+		}
+
+		return Collections.unmodifiableMap(metrics);
 	}
 
 	@Override
@@ -38,13 +38,14 @@ public interface TaskBarrier
 {
 
 	/**
-	 * Awaits this barrier to be arrived.
+	 * Awaits this barrier to be arrived. Throws a TaskExecutionException with the failure as cause if it was arrived
+	 * exceptionally and a TaskExecutionException if the waiting thread got interrupted (keeping the interrupt flag).
 	 */
 	void await();
 
 	/**
 	 * Awaits this barrier to be arrived up to timeOut units then returns. The timeout shall not exceed the timeOut
-	 * units.
+	 * units. Failures are reported like by await().
 	 *
 	 * @param timeOut
 	 * @param unit
@@ -55,4 +56,36 @@ public interface TaskBarrier
 	 * Signals that it was arrived at this barrier. Will potentially cause all awating to be returning.
 	 */
 	void arrive();
+
+	/**
+	 * Signals an arrival of a failed task. It counts as arrival, so waiting does not hang, but the barrier reports the
+	 * (first) failure once arrived.
+	 *
+	 * @param failure
+	 */
+	void arriveExceptionally(Throwable failure);
+
+	/**
+	 * Returns the first failure arrived at this barrier - null if none.
+	 *
+	 * @return
+	 */
+	Throwable getFailure();
+
+	/**
+	 * Signals if all necessary arrivals have happened.
+	 *
+	 * @return
+	 */
+	boolean isArrived();
+
+	/**
+	 * Registers a continuation which is executed once this barrier is arrived. It is executed in the thread causing the
+	 * final arrival or directly in the calling thread if the barrier is already arrived. Continuations should just hand
+	 * over work (i.e. enqueue tasks into a group) and never block. They are executed in registration order and also if a
+	 * failure arrived - getFailure() tells them whether to go on.
+	 *
+	 * @param continuation
+	 */
+	void whenArrived(Task continuation);
 }
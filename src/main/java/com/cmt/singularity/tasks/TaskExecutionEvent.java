@@ -0,0 +1,88 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the execution of a task by a worker (start to finish). Disabled by default - enable
+ * "com.cmt.singularity.TaskExecution" in the recording settings.
+ *
+ * @author Benjamin Schiller
+ */
+@Name("com.cmt.singularity.TaskExecution")
+@Label("Task Execution")
+@Description("Execution of a task by a worker of a task group")
+@Category({"Singularity", "Tasks"})
+@Enabled(false)
+@StackTrace(false)
+public final class TaskExecutionEvent extends Event
+{
+
+	/**
+	 * Used to check if the event is recorded without creating an event each time
+	 */
+	private final static TaskExecutionEvent PROBE = new TaskExecutionEvent();
+
+	@Label("Task Group")
+	public String group;
+
+	@Label("Task Class")
+	public Class<?> taskClass;
+
+	/**
+	 * Returns true if the event is enabled in a running recording. Costs a field read if not.
+	 *
+	 * @return
+	 */
+	public static boolean isRecording()
+	{
+		return PROBE.isEnabled();
+	}
+
+	/**
+	 * Creates and begins the event - commit() it after the task finished.
+	 *
+	 * @param group
+	 * @param task
+	 * @return
+	 */
+	public static TaskExecutionEvent start(String group, Task task)
+	{
+		TaskExecutionEvent event = new TaskExecutionEvent();
+		event.group = group;
+		event.taskClass = task.getClass();
+		event.begin();
+
+		return event;
+	}
+}
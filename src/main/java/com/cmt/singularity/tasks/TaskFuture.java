@@ -0,0 +1,90 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A TaskFuture is a TaskBarrier which is arrived once the result of a task is available or the task failed. It can be
+ * awaited and grouped like any other barrier.
+ *
+ * @author Benjamin Schiller
+ * @param <T> type of the result
+ */
+public interface TaskFuture<T> extends TaskBarrier
+{
+
+	/**
+	 * Awaits the result.
+	 *
+	 * @return the result of the task
+	 * @throws TaskExecutionException if the task failed
+	 */
+	T get();
+
+	/**
+	 * Awaits the result up to timeOut units.
+	 *
+	 * @param timeOut
+	 * @param unit
+	 * @return the result of the task
+	 * @throws TaskExecutionException if the task failed or the result is not available after the timeout
+	 */
+	T get(long timeOut, TimeUnit unit);
+
+	/**
+	 * Sets the result and arrives. A future can only be completed once - completing it again throws a RuntimeException.
+	 *
+	 * @param result
+	 */
+	void complete(T result);
+
+	/**
+	 * Sets the failure and arrives. A future can only be completed once - completing it again throws a RuntimeException.
+	 *
+	 * @param failure
+	 */
+	void completeExceptionally(Throwable failure);
+
+	/**
+	 * Returns the failure if the task failed.
+	 *
+	 * @return the failure or null if the task succeeded or is not done yet
+	 */
+	Throwable getFailure();
+
+	/**
+	 * Executes the function with the result as a task in the given group once this future is arrived. A failure is
+	 * passed on to the returned future without executing the function.
+	 *
+	 * @param <R>
+	 * @param group
+	 * @param function
+	 * @return the future of the result of the function
+	 */
+	<R> TaskFuture<R> thenOnGroup(TaskGroup group, Function<? super T, ? extends R> function);
+}
@@ -0,0 +1,494 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * The TaskGraph describes a set of tasks and their dependencies as directed acyclic graph. Tasks are added as nodes
+ * declaring their predecessors. Once validated (cycle detection and critical path calculation) the graph is frozen and
+ * can be submitted into a TaskGroup as often as needed (i.e. once per frame).
+ *
+ * When submitted each node is executed after all of its predecessors have been executed. Ready nodes are handed over in
+ * order of their critical path (the longest remaining path to the end of the graph by cost). The worker finishing a
+ * node directly continues with the most critical successor becoming ready.
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGraph
+{
+
+	private final static Logger log = LogManager.getLogger(TaskGraph.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(TaskGraph.class.getName());
+
+	/**
+	 * Orders nodes by descending critical path
+	 */
+	protected final static Comparator<Node> CRITICAL_PATH_FIRST = (n1, n2) -> Long.compare(n2.criticalPath, n1.criticalPath);
+
+	public final static class Node
+	{
+
+		protected final TaskGraph graph;
+		protected final Task task;
+		protected final long cost;
+		protected final int index;
+		protected final List<Node> predecessors;
+		protected final List<Node> successors;
+		protected Node[] sortedSuccessors;
+		protected long criticalPath;
+
+		protected Node(TaskGraph graph, Task task, long cost, int index)
+		{
+			this.graph = graph;
+			this.task = task;
+			this.cost = cost;
+			this.index = index;
+			predecessors = new ArrayList<>();
+			successors = new ArrayList<>();
+		}
+
+		/**
+		 * Declares this node to be executed after the given predecessors.
+		 *
+		 * @param predecessors
+		 * @return
+		 */
+		public Node after(Node... predecessors)
+		{
+			assertion.assertNotNull(predecessors, "predecessors != null");
+			assertion.assertFalse(graph.validated, "graph.validated == false");
+
+			for (Node predecessor : predecessors) {
+
+				assertion.assertNotNull(predecessor, "predecessor != null");
+				assertion.assertTrue(predecessor.graph == graph, "predecessor.graph == graph");
+
+				if (!this.predecessors.contains(predecessor)) {
+					this.predecessors.add(predecessor);
+					predecessor.successors.add(this);
+				}
+			}
+
+			return this;
+		}
+
+		// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+		public Task getTask()
+		{
+			return task;
+		}
+
+		public long getCost()
+		{
+			return cost;
+		}
+
+		public int getIndex()
+		{
+			return index;
+		}
+
+		/**
+		 * Returns the cost of the longest path starting at this node including its own cost. Available after
+		 * validation.
+		 *
+		 * @return
+		 */
+		public long getCriticalPath()
+		{
+			return criticalPath;
+		}
+		// "Getters/Setters" </editor-fold>
+	}
+
+	/**
+	 * Executes the nodes of the graph once all of their predecessors ran. Shared by the runs of submit() and the
+	 * executions of a TaskPlan, which just differ in the task handed to the group for a ready node.
+	 */
+	protected abstract static class Execution
+	{
+
+		protected final AtomicIntegerArray openPredecessors;
+		protected final TaskBarrier done;
+		protected volatile TaskGroup group;
+
+		protected Execution(AtomicIntegerArray openPredecessors, TaskBarrier done)
+		{
+			this.openPredecessors = openPredecessors;
+			this.done = done;
+		}
+
+		/**
+		 * Returns the task executing the given node in this execution.
+		 *
+		 * @param node
+		 * @return
+		 */
+		protected abstract Task getTask(Node node);
+
+		protected void submit(Node node)
+		{
+			group.parallel(getTask(node));
+		}
+
+		/**
+		 * Returns true if the group takes the submissions of the calling thread last in first out (i.e. a worker of a
+		 * WorkStealingTaskGroup) - they have to be submitted least critical first then.
+		 *
+		 * @return
+		 */
+		protected boolean isLifo()
+		{
+			return group instanceof AbstractTaskGroup abstractGroup && abstractGroup.takesOwnSubmissionsLifo();
+		}
+
+		/**
+		 * Submits the given nodes sorted by descending critical path, so the most critical is taken first.
+		 *
+		 * @param sorted
+		 */
+		protected void submitAll(Node[] sorted)
+		{
+			if (isLifo()) {
+				for (int i = sorted.length - 1; i >= 0; --i) {
+					submit(sorted[i]);
+				}
+			} else {
+				for (Node node : sorted) {
+					submit(node);
+				}
+			}
+		}
+
+		/**
+		 * Executes the node and continues with the most critical successor which got ready. The other ready successors
+		 * are submitted so the group takes the more critical ones first - least critical first if it takes them last
+		 * in first out, most critical first otherwise. Once a node failed it is reported to the failure handler of the
+		 * group and the remaining nodes are skipped but still released, so the execution arrives (exceptionally).
+		 *
+		 * @param node
+		 */
+		protected void execute(Node node)
+		{
+			Node current = node;
+
+			while (current != null) {
+
+				Throwable failed = null;
+
+				if (done.getFailure() == null) {
+					try {
+						current.task.execute();
+					} catch (Throwable ex) {
+						failed = ex;
+						reportFailure(current.task, ex);
+					}
+				}
+
+				// Successors are sorted by descending critical path
+				Node next = null;
+				Node[] successors = current.sortedSuccessors;
+
+				if (successors.length > 0 && isLifo()) {
+
+					// The last ready one seen is the most critical
+					for (int i = successors.length - 1; i >= 0; --i) {
+
+						Node successor = successors[i];
+
+						if (openPredecessors.decrementAndGet(successor.index) == 0) {
+							if (next != null) {
+								submit(next);
+							}
+							next = successor;
+						}
+					}
+				} else {
+
+					// The first ready one seen is the most critical
+					for (Node successor : successors) {
+						if (openPredecessors.decrementAndGet(successor.index) == 0) {
+							if (next == null) {
+								next = successor;
+							} else {
+								submit(successor);
+							}
+						}
+					}
+				}
+
+				if (failed != null) {
+					done.arriveExceptionally(failed);
+				} else {
+					done.arrive();
+				}
+
+				current = next;
+			}
+		}
+
+		/**
+		 * Hands the failure of a node task over to the failure handler of the group like the group does for its tasks.
+		 *
+		 * @param task
+		 * @param failure
+		 */
+		protected void reportFailure(Task task, Throwable failure)
+		{
+			if (group instanceof AbstractTaskGroup abstractGroup) {
+				abstractGroup.handleFailure(task, failure);
+				return;
+			}
+
+			try {
+				group.getFailureHandler().handleFailure(group, task, failure);
+			} catch (Throwable ex) {
+				log.error("Failure handler failed", group.getName(), ex);
+			}
+		}
+	}
+
+	/**
+	 * A single execution of the graph in a group
+	 */
+	protected final static class Run extends Execution
+	{
+
+		protected Run(TaskGraph graph, TaskGroup group)
+		{
+			super(new AtomicIntegerArray(graph.predecessorCounts), new StandardTaskBarrier(graph.nodes.size()));
+
+			this.group = group;
+		}
+
+		@Override
+		protected Task getTask(Node node)
+		{
+			return () -> execute(node);
+		}
+	}
+
+	protected final List<Node> nodes;
+	protected int[] predecessorCounts;
+	protected Node[] roots;
+	protected long criticalPath;
+	protected boolean validated;
+
+	public TaskGraph()
+	{
+		nodes = new ArrayList<>();
+	}
+
+	/**
+	 * Adds a node with cost 1 executed after the given predecessors.
+	 *
+	 * @param task
+	 * @param predecessors
+	 * @return
+	 */
+	public Node add(Task task, Node... predecessors)
+	{
+		return add(task, 1, predecessors);
+	}
+
+	/**
+	 * Adds a node with the given (estimated) cost executed after the given predecessors. The cost is relative and just
+	 * used to calculate the critical path.
+	 *
+	 * @param task
+	 * @param cost
+	 * @param predecessors
+	 * @return
+	 */
+	public Node add(Task task, long cost, Node... predecessors)
+	{
+		assertion.assertNotNull(task, "task != null");
+		assertion.assertTrue(cost >= 0, "cost >= 0");
+		assertion.assertFalse(validated, "validated == false");
+
+		Node node = new Node(this, task, cost, nodes.size());
+
+		nodes.add(node);
+
+		node.after(predecessors);
+
+		return node;
+	}
+
+	/**
+	 * Validates the graph to be acyclic, calculates the critical paths and freezes the graph. Throws a RuntimeException
+	 * naming the nodes on cycles if the graph is cyclic.
+	 *
+	 * @return
+	 */
+	public TaskGraph validate()
+	{
+		if (validated) {
+			return this;
+		}
+
+		assertion.assertFalse(nodes.isEmpty(), "nodes not empty");
+
+		int size = nodes.size();
+
+		// Kahn - sort topologically
+		int[] open = new int[size];
+		Node[] sorted = new Node[size];
+		int sortedCount = 0;
+
+		for (Node node : nodes) {
+			open[node.index] = node.predecessors.size();
+			if (open[node.index] == 0) {
+				sorted[sortedCount++] = node;
+			}
+		}
+
+		for (int i = 0; i < sortedCount; ++i) {
+			for (Node successor : sorted[i].successors) {
+				if (--open[successor.index] == 0) {
+					sorted[sortedCount++] = successor;
+				}
+			}
+		}
+
+		if (sortedCount < size) {
+
+			StringBuilder cyclic = new StringBuilder();
+
+			for (Node node : nodes) {
+				if (open[node.index] > 0) {
+					if (!cyclic.isEmpty()) {
+						cyclic.append(", ");
+					}
+					cyclic.append(node.index).append(" (").append(node.task.getClass().getName()).append(")");
+				}
+			}
+
+			throw new RuntimeException("TaskGraph contains a cycle with nodes " + cyclic);
+		}
+
+		// Critical paths in reverse topological order
+		for (int i = size - 1; i >= 0; --i) {
+
+			Node node = sorted[i];
+			long longestSuccessor = 0;
+
+			for (Node successor : node.successors) {
+				longestSuccessor = Math.max(longestSuccessor, successor.criticalPath);
+			}
+
+			node.criticalPath = node.cost + longestSuccessor;
+		}
+
+		predecessorCounts = new int[size];
+		List<Node> rootNodes = new ArrayList<>();
+
+		for (Node node : nodes) {
+
+			predecessorCounts[node.index] = node.predecessors.size();
+
+			node.sortedSuccessors = node.successors.toArray(Node[]::new);
+			Arrays.sort(node.sortedSuccessors, CRITICAL_PATH_FIRST);
+
+			if (node.predecessors.isEmpty()) {
+				rootNodes.add(node);
+			}
+
+			criticalPath = Math.max(criticalPath, node.criticalPath);
+		}
+
+		roots = rootNodes.toArray(Node[]::new);
+		Arrays.sort(roots, CRITICAL_PATH_FIRST);
+
+		validated = true;
+
+		return this;
+	}
+
+	/**
+	 * Submits all nodes of the graph into the given group. Validates the graph if not done yet. Can be called again
+	 * while former submissions are still running.
+	 *
+	 * @param group
+	 * @return barrier arrived after all nodes have been executed
+	 */
+	public TaskBarrier submit(TaskGroup group)
+	{
+		assertion.assertNotNull(group, "group != null");
+
+		validate();
+
+		Run run = new Run(this, group);
+
+		run.submitAll(roots);
+
+		return run.done;
+	}
+
+	/**
+	 * Compiles the graph into a reusable TaskPlan which executes without allocating its own state (see TaskPlan for the
+	 * queue). Validates the graph if not done yet.
+	 *
+	 * @return
+	 */
+	public TaskPlan compile()
+	{
+		validate();
+
+		return new TaskPlan(this);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public List<Node> getNodes()
+	{
+		return List.copyOf(nodes);
+	}
+
+	/**
+	 * Returns the cost of the longest path through the graph. Available after validation.
+	 *
+	 * @return
+	 */
+	public long getCriticalPath()
+	{
+		return criticalPath;
+	}
+
+	public boolean isValidated()
+	{
+		return validated;
+	}
+	// "Getters/Setters" </editor-fold>
+}
@@ -25,7 +25,12 @@
 //</editor-fold>
 package com.cmt.singularity.tasks;
 
+import com.cmt.singularity.ConfigKey;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 
 /**
  * The TaskGroup represents an executor scope. Tasks can get added with certain contracts (parallel, sequential, ...)
@@ -37,7 +42,8 @@ public interface TaskGroup
 {
 
 	/**
-	 * Key to configurate task groups to log calling and performance of actions
+	 * Key to configurate task groups to log calling and performance of actions. A single group can be configured by
+	 * appending "." and its name to the key.
 	 */
 	public static final String COFIGURATION_TASK_GROUP_LOG_KEY = "com.cmt.singularity.tasks.TaskGroup.log";
 
@@ -46,6 +52,179 @@ public interface TaskGroup
 	 */
 	public static final boolean COFIGURATION_TASK_GROUP_LOG_DEFAULT = false;
 
+	/**
+	 * Typed key of the task logging
+	 */
+	public static final ConfigKey<Boolean> COFIGURATION_TASK_GROUP_LOG = ConfigKey.ofBoolean(COFIGURATION_TASK_GROUP_LOG_KEY, COFIGURATION_TASK_GROUP_LOG_DEFAULT);
+
+	/**
+	 * Key to configurate the maximal length of the sub ranges processed in one call by parallelFor and parallelReduce. A
+	 * single group can be configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_GRAIN_SIZE_KEY = "com.cmt.singularity.tasks.TaskGroup.grainSize";
+
+	/**
+	 * Default maximal length of the sub ranges processed in one call by parallelFor and parallelReduce = 256
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_GRAIN_SIZE_DEFAULT = 256;
+
+	/**
+	 * Typed key of the grain size
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_GRAIN_SIZE = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_GRAIN_SIZE_KEY, CONFIGURATION_TASK_GROUP_GRAIN_SIZE_DEFAULT);
+
+	/**
+	 * Key to configurate how often a priority level with waiting tasks may be skipped in favor of higher levels before
+	 * it is served. A single group can be configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_PRIORITY_AGING_KEY = "com.cmt.singularity.tasks.TaskGroup.priorityAging";
+
+	/**
+	 * Default of how often a priority level with waiting tasks may be skipped before it is served = 32
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_PRIORITY_AGING_DEFAULT = 32;
+
+	/**
+	 * Typed key of the priority aging
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_PRIORITY_AGING = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_PRIORITY_AGING_KEY, CONFIGURATION_TASK_GROUP_PRIORITY_AGING_DEFAULT);
+
+	/**
+	 * Key to configurate if the barriers of a group spin and yield before parking (AdaptiveTaskBarrier). A single group
+	 * can be configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS_KEY = "com.cmt.singularity.tasks.TaskGroup.adaptiveBarriers";
+
+	/**
+	 * Default if the barriers of a group spin and yield before parking = false
+	 */
+	public static final boolean CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS_DEFAULT = false;
+
+	/**
+	 * Typed key of the adaptive barriers
+	 */
+	public static final ConfigKey<Boolean> CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS = ConfigKey.ofBoolean(CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS_KEY, CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS_DEFAULT);
+
+	/**
+	 * Key to configurate how often an idle worker spins (Thread.onSpinWait()) before yielding. A single group can be
+	 * configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_IDLE_SPINS_KEY = "com.cmt.singularity.tasks.TaskGroup.idleSpins";
+
+	/**
+	 * Default of how often an idle worker spins before yielding = 256
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_IDLE_SPINS_DEFAULT = 256;
+
+	/**
+	 * Typed key of the idle spins
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_IDLE_SPINS = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_IDLE_SPINS_KEY, CONFIGURATION_TASK_GROUP_IDLE_SPINS_DEFAULT);
+
+	/**
+	 * Key to configurate how often an idle worker yields before parking till new tasks arrive. Use 0 spins and 0 yields
+	 * to park right away for no CPU usage when idle. A single group can be configured by appending "." and its name to
+	 * the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_IDLE_YIELDS_KEY = "com.cmt.singularity.tasks.TaskGroup.idleYields";
+
+	/**
+	 * Default of how often an idle worker yields before parking = 8
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_IDLE_YIELDS_DEFAULT = 8;
+
+	/**
+	 * Typed key of the idle yields
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_IDLE_YIELDS = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_IDLE_YIELDS_KEY, CONFIGURATION_TASK_GROUP_IDLE_YIELDS_DEFAULT);
+
+	/**
+	 * Key to configurate the CPUs (Linux list format, i.e. "0-3,8") the workers of a group are pinned to. Worker i is
+	 * pinned to the i-th CPU of the list (round robin). A single group can be configured by appending "." and its name
+	 * to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_AFFINITY_KEY = "com.cmt.singularity.tasks.TaskGroup.affinity";
+
+	/**
+	 * Default CPUs the workers of a group are pinned to = "" (not pinned)
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_AFFINITY_DEFAULT = "";
+
+	/**
+	 * Typed key of the affinity
+	 */
+	public static final ConfigKey<String> CONFIGURATION_TASK_GROUP_AFFINITY = ConfigKey.ofString(CONFIGURATION_TASK_GROUP_AFFINITY_KEY, CONFIGURATION_TASK_GROUP_AFFINITY_DEFAULT);
+
+	/**
+	 * Key to configurate how often adaptive barriers spin before yielding. A single group can be configured by
+	 * appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_BARRIER_SPINS_KEY = "com.cmt.singularity.tasks.TaskGroup.barrierSpins";
+
+	/**
+	 * Typed key of the barrier spins
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_BARRIER_SPINS = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_BARRIER_SPINS_KEY, AdaptiveTaskBarrier.SPINS_DEFAULT);
+
+	/**
+	 * Key to configurate how often adaptive barriers yield before parking. A single group can be configured by appending
+	 * "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_BARRIER_YIELDS_KEY = "com.cmt.singularity.tasks.TaskGroup.barrierYields";
+
+	/**
+	 * Typed key of the barrier yields
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_BARRIER_YIELDS = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_BARRIER_YIELDS_KEY, AdaptiveTaskBarrier.YIELDS_DEFAULT);
+
+	/**
+	 * Key in config for the class of the TaskFailureHandler of a group. A single group can be configured by appending
+	 * "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS_KEY = "com.cmt.singularity.tasks.TaskGroup.failureHandlerClass";
+
+	/**
+	 * Default in config for the class of the TaskFailureHandler of a group
+	 */
+	public static final Class<? extends TaskFailureHandler> CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS_DEFAULT = LoggingTaskFailureHandler.class;
+
+	/**
+	 * Typed key of the failure handler class
+	 */
+	public static final ConfigKey<Class<?>> CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS = ConfigKey.ofClass(CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS_KEY, CONFIGURATION_TASK_GROUP_FAILURE_HANDLER_CLASS_DEFAULT);
+
+	/**
+	 * Key to configurate that every n-th task (randomly) is timed for the wait and run time metrics. 0 disables timing.
+	 * A single group can be configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_KEY = "com.cmt.singularity.tasks.TaskGroup.metricsSampling";
+
+	/**
+	 * Default of every n-th task being timed = 64
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_DEFAULT = 64;
+
+	/**
+	 * Typed key of the metrics sampling
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_METRICS_SAMPLING = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_KEY, CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_DEFAULT);
+
+	/**
+	 * Key to configurate the count of reusable task wrappers of a group. 0 disables the pooling. A single group can be
+	 * configured by appending "." and its name to the key.
+	 */
+	public static final String CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE_KEY = "com.cmt.singularity.tasks.TaskGroup.wrapperPoolSize";
+
+	/**
+	 * Default of reusable task wrappers per group = 1024
+	 */
+	public static final int CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE_DEFAULT = 1024;
+
+	/**
+	 * Typed key of the wrapper pool size
+	 */
+	public static final ConfigKey<Integer> CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE = ConfigKey.ofInt(CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE_KEY, CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE_DEFAULT);
+
 	/**
 	 * The name of this task group.
 	 *
@@ -77,6 +256,34 @@ public interface TaskGroup
 	 */
 	TaskGroup sequential(Task... tasks);
 
+	/**
+	 * Add a list of tasks to be executed in sequentially in order by this task group with the given priority.
+	 *
+	 * @param priority
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup sequential(TaskPriority priority, Task... tasks);
+
+	/**
+	 * Like sequential(tasks) skipping the remaining tasks once the token is cancelled.
+	 *
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup sequential(CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Like sequential(priority, tasks) skipping the remaining tasks once the token is cancelled.
+	 *
+	 * @param priority
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup sequential(TaskPriority priority, CancellationToken cancellation, Task... tasks);
+
 	/**
 	 * Add a list of tasks to be executed in parallel by this task group.
 	 *
@@ -85,6 +292,62 @@ public interface TaskGroup
 	 */
 	TaskGroup parallel(Task... tasks);
 
+	/**
+	 * Add a list of tasks to be executed in parallel by this task group with the given priority.
+	 *
+	 * @param priority
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup parallel(TaskPriority priority, Task... tasks);
+
+	/**
+	 * Like parallel(tasks) skipping the tasks which did not start before the token is cancelled.
+	 *
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup parallel(CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Like parallel(priority, tasks) skipping the tasks which did not start before the token is cancelled.
+	 *
+	 * @param priority
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup parallel(TaskPriority priority, CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Add the tasks of the list to be executed in parallel by this task group. The tasks are handed over as a batch
+	 * (i.e. with a single queue operation).
+	 *
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup parallel(List<Task> tasks);
+
+	/**
+	 * Add the tasks from index from (inclusive) to index to (exclusive) to be executed in parallel by this task group.
+	 * The tasks are handed over as a batch (i.e. with a single queue operation).
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @return
+	 */
+	TaskGroup parallel(Task[] tasks, int from, int to);
+
+	/**
+	 * Add a single task to be executed by this task group. Does not allocate for prebuilt tasks if logging is off.
+	 *
+	 * @param task
+	 * @return
+	 */
+	TaskGroup parallel(Task task);
+
 	/**
 	 * Add a list of tasks to be executed in parallel by this task group before the returned barrier is arrived. All
 	 * tasks in this list have returned from their execute() method before the barrier is arriving.
@@ -95,8 +358,80 @@ public interface TaskGroup
 	TaskBarrier parallelBefore(Task... tasks);
 
 	/**
-	 * Executes the given tasks guarantueed after the arrival of the given barrier. The tasks may not block the
-	 * execution of this task group until then.
+	 * Like parallelBefore(tasks) executing the tasks with the given priority.
+	 *
+	 * @param priority
+	 * @param tasks
+	 * @return
+	 */
+	TaskBarrier parallelBefore(TaskPriority priority, Task... tasks);
+
+	/**
+	 * Like parallelBefore(tasks) skipping the tasks which did not start before the token is cancelled. Skipped tasks
+	 * still arrive at the barrier - exceptionally with a TaskCancelledException.
+	 *
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskBarrier parallelBefore(CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Like parallelBefore(cancellation, tasks) executing the tasks with the given priority.
+	 *
+	 * @param priority
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskBarrier parallelBefore(TaskPriority priority, CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Like parallelBefore(tasks) arriving at the given barrier once per task. This allows to reuse a barrier (i.e. a
+	 * PhasedTaskBarrier) across frames.
+	 *
+	 * @param arrive
+	 * @param tasks
+	 * @return the given barrier
+	 */
+	TaskBarrier parallelBefore(TaskBarrier arrive, Task... tasks);
+
+	/**
+	 * Executes the callable in this group and returns the future of its result. A failure of the callable is
+	 * propagated by the future instead of being logged by the worker.
+	 *
+	 * @param <T>
+	 * @param callable
+	 * @return
+	 */
+	<T> TaskFuture<T> submit(Callable<T> callable);
+
+	/**
+	 * Like submit(callable) executing the callable with the given priority.
+	 *
+	 * @param <T>
+	 * @param priority
+	 * @param callable
+	 * @return
+	 */
+	<T> TaskFuture<T> submit(TaskPriority priority, Callable<T> callable);
+
+	/**
+	 * Like submit(priority, callable) skipping the callable if the token is cancelled before it starts. The future then
+	 * fails with a TaskCancelledException.
+	 *
+	 * @param <T>
+	 * @param priority
+	 * @param cancellation
+	 * @param callable
+	 * @return
+	 */
+	<T> TaskFuture<T> submit(TaskPriority priority, CancellationToken cancellation, Callable<T> callable);
+
+	/**
+	 * Executes the given tasks guarantueed after the arrival of the given barrier. The tasks are held back until then,
+	 * so they do not block the execution of this task group and are not yet considered by join(). If a failure
+	 * arrived at the barrier the tasks are dropped, as they depend on the failed ones.
 	 *
 	 * @param barrier
 	 * @param tasks
@@ -104,6 +439,69 @@ public interface TaskGroup
 	 */
 	TaskGroup parallelAfter(TaskBarrier barrier, Task... tasks);
 
+	/**
+	 * Like parallelAfter(barrier, tasks) dropping the tasks if the token is cancelled until they start. Passing the token
+	 * of the tasks before the barrier propagates their cancellation to the dependent tasks.
+	 *
+	 * @param barrier
+	 * @param cancellation
+	 * @param tasks
+	 * @return
+	 */
+	TaskGroup parallelAfter(TaskBarrier barrier, CancellationToken cancellation, Task... tasks);
+
+	/**
+	 * Processes the index range [start, end) in parallel by calling body with sub ranges of at most the configured grain
+	 * size. The range is split adaptively while this group has idle workers (lazy binary splitting), so a single
+	 * submission spreads over all available workers.
+	 *
+	 * @param start
+	 * @param end
+	 * @param body
+	 * @return barrier arrived after all indices have been processed
+	 */
+	TaskBarrier parallelFor(int start, int end, IntRangeConsumer body);
+
+	/**
+	 * Like parallelFor(start, end, body) but with the given grain size.
+	 *
+	 * @param start
+	 * @param end
+	 * @param grainSize
+	 * @param body
+	 * @return
+	 */
+	TaskBarrier parallelFor(int start, int end, int grainSize, IntRangeConsumer body);
+
+	/**
+	 * Processes the index range [start, end) in parallel like parallelFor and combines the partial results of the sub
+	 * ranges using combiner. The combiner has to be associative and commutative. The combined result (null for an empty
+	 * range) is handed to result before the returned barrier arrives.
+	 *
+	 * @param <ResultType>
+	 * @param start
+	 * @param end
+	 * @param body
+	 * @param combiner
+	 * @param result
+	 * @return barrier arrived after result has been called
+	 */
+	<ResultType> TaskBarrier parallelReduce(int start, int end, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result);
+
+	/**
+	 * Like parallelReduce(start, end, body, combiner, result) but with the given grain size.
+	 *
+	 * @param <ResultType>
+	 * @param start
+	 * @param end
+	 * @param grainSize
+	 * @param body
+	 * @param combiner
+	 * @param result
+	 * @return
+	 */
+	<ResultType> TaskBarrier parallelReduce(int start, int end, int grainSize, IntRangeFunction<ResultType> body, BinaryOperator<ResultType> combiner, Consumer<ResultType> result);
+
 	/**
 	 * Waits till ALL tasks in that group have been processed - means no tasks in queue and all tasks exited their
 	 * execute() method.
@@ -112,6 +510,15 @@ public interface TaskGroup
 	 */
 	TaskGroup join();
 
+	/**
+	 * Waits up to timeOut units till ALL tasks in that group have been processed.
+	 *
+	 * @param timeOut
+	 * @param unit
+	 * @return true if all tasks have been processed, false if the timeout elapsed before
+	 */
+	boolean join(long timeOut, TimeUnit unit);
+
 	/**
 	 * Ends this group returning a barrier that is arrived after the group has ended.
 	 *
@@ -119,6 +526,27 @@ public interface TaskGroup
 	 */
 	TaskBarrier endGracefully();
 
+	/**
+	 * Returns the always-on execution metrics of this group.
+	 *
+	 * @return
+	 */
+	TaskGroupMetrics getMetrics();
+
+	/**
+	 * Returns the handler called for failures escaping the tasks of this group.
+	 *
+	 * @return
+	 */
+	TaskFailureHandler getFailureHandler();
+
+	/**
+	 * Sets the handler called for failures escaping the tasks of this group.
+	 *
+	 * @param failureHandler
+	 */
+	void setFailureHandler(TaskFailureHandler failureHandler);
+
 	/**
 	 * Signals if the tasks are ending or ended
 	 *
@@ -0,0 +1,215 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * The TaskGroupMetrics count what happens to the tasks of a group. Counters are always on and striped (LongAdder), so
+ * they cost a few nanoseconds per task. Run time is recorded by the group for a sample of the tasks only, as timing
+ * requires a clock read on both ends. Wait time (enqueued until started) needs the enqueue time, so a sampled task is
+ * queued in a pooled wrapper carrying it - unsampled plain tasks are queued as they are.
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGroupMetrics
+{
+
+	private final static Assert assertion = Assert.getAssert(TaskGroupMetrics.class.getName());
+
+	protected final String name;
+	protected final int sampling;
+	protected final LongSupplier queueDepth;
+	protected final LongAdder submitted;
+	protected final LongAdder executed;
+	protected final LongAdder failed;
+	protected final LongAdder rejected;
+	protected final LongAdder stolen;
+	protected final TaskTimeHistogram waitTime;
+	protected final TaskTimeHistogram runTime;
+
+	/**
+	 * Creates the metrics of a group.
+	 *
+	 * @param name name of the group
+	 * @param sampling every sampling-th task (randomly) is timed, 0 disables timing
+	 * @param queueDepth provides the current count of tasks waiting in the group
+	 */
+	public TaskGroupMetrics(String name, int sampling, LongSupplier queueDepth)
+	{
+		assertion.assertNotNull(name, "name != null");
+		assertion.assertTrue(sampling >= 0, "sampling >= 0");
+		assertion.assertNotNull(queueDepth, "queueDepth != null");
+
+		this.name = name;
+		this.sampling = sampling;
+		this.queueDepth = queueDepth;
+
+		submitted = new LongAdder();
+		executed = new LongAdder();
+		failed = new LongAdder();
+		rejected = new LongAdder();
+		stolen = new LongAdder();
+		waitTime = new TaskTimeHistogram();
+		runTime = new TaskTimeHistogram();
+	}
+
+	/**
+	 * Decides if the next task is timed.
+	 *
+	 * @return
+	 */
+	public boolean sample()
+	{
+		return sampling > 0 && (sampling == 1 || ThreadLocalRandom.current().nextInt(sampling) == 0);
+	}
+
+	/**
+	 * Records the time a sampled task waited from being enqueued until it started.
+	 *
+	 * @param nanos
+	 */
+	public void recordWaitTime(long nanos)
+	{
+		waitTime.record(nanos);
+	}
+
+	/**
+	 * Records the time a sampled task ran.
+	 *
+	 * @param nanos
+	 */
+	public void recordRunTime(long nanos)
+	{
+		runTime.record(nanos);
+	}
+
+	public void taskSubmitted(int count)
+	{
+		submitted.add(count);
+	}
+
+	public void taskExecuted()
+	{
+		executed.increment();
+	}
+
+	public void taskFailed()
+	{
+		failed.increment();
+	}
+
+	public void taskRejected()
+	{
+		rejected.increment();
+	}
+
+	public void taskStolen()
+	{
+		stolen.increment();
+	}
+
+	@Override
+	public String toString()
+	{
+		return name
+			+ " submitted=" + getSubmitted()
+			+ " executed=" + getExecuted()
+			+ " failed=" + getFailed()
+			+ " rejected=" + getRejected()
+			+ " stolen=" + getStolen()
+			+ " queueDepth=" + getQueueDepth()
+			+ " waitP50=" + waitTime.getValueAtPercentile(50.0)
+			+ " waitP99=" + waitTime.getValueAtPercentile(99.0)
+			+ " runP50=" + runTime.getValueAtPercentile(50.0)
+			+ " runP99=" + runTime.getValueAtPercentile(99.0);
+	}
+
+	// <editor-fold desc="Getters/Setters" defaultstate="collapsed">
+	public String getName()
+	{
+		return name;
+	}
+
+	public int getSampling()
+	{
+		return sampling;
+	}
+
+	public long getSubmitted()
+	{
+		return submitted.sum();
+	}
+
+	public long getExecuted()
+	{
+		return executed.sum();
+	}
+
+	public long getFailed()
+	{
+		return failed.sum();
+	}
+
+	public long getRejected()
+	{
+		return rejected.sum();
+	}
+
+	public long getStolen()
+	{
+		return stolen.sum();
+	}
+
+	public long getQueueDepth()
+	{
+		return queueDepth.getAsLong();
+	}
+
+	/**
+	 * Time of the sampled tasks from enqueue till start in nanoseconds
+	 *
+	 * @return
+	 */
+	public TaskTimeHistogram getWaitTime()
+	{
+		return waitTime;
+	}
+
+	/**
+	 * Time of the sampled tasks in execute() in nanoseconds
+	 *
+	 * @return
+	 */
+	public TaskTimeHistogram getRunTime()
+	{
+		return runTime;
+	}
+	//</editor-fold>
+}
@@ -0,0 +1,283 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The TaskPlan is a compiled TaskGraph which can be executed again and again without allocating on the heap. All node
+ * tasks, counters and the completion barrier are created once by TaskGraph.compile() and reset on each execution. A
+ * plan runs one execution at a time - the next execute() requires the former one to be done.
+ *
+ * Submission is allocation free as long as the group enqueues without allocating - i.e. a StandardTaskGroup with the
+ * lock free RingBufferTaskQueue and logging off. The lock of the default BlockingTaskQueue may allocate when contended.
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskPlan
+{
+
+	private final static Assert assertion = Assert.getAssert(TaskPlan.class.getName());
+
+	/**
+	 * Prebuilt task executing a node in the execution of the plan
+	 */
+	protected final class PlanNode implements Task
+	{
+
+		protected final TaskGraph.Node node;
+
+		protected PlanNode(TaskGraph.Node node)
+		{
+			this.node = node;
+		}
+
+		@Override
+		public void execute()
+		{
+			execution.execute(node);
+		}
+	}
+
+	/**
+	 * Executes the nodes by their prebuilt tasks instead of creating one per submission
+	 */
+	protected final class PlanExecution extends TaskGraph.Execution
+	{
+
+		protected PlanExecution(int size)
+		{
+			super(new AtomicIntegerArray(size), new PlanBarrier());
+		}
+
+		@Override
+		protected Task getTask(TaskGraph.Node node)
+		{
+			return nodes[node.index];
+		}
+	}
+
+	/**
+	 * Resettable barrier arrived after all nodes of the current execution ran
+	 */
+	protected final class PlanBarrier implements TaskBarrier
+	{
+
+		protected final AtomicInteger open;
+		protected final AtomicReference<StandardTaskBarrier.Continuation> continuations;
+		protected final AtomicReference<Throwable> failure;
+
+		/**
+		 * Set after the final arrival executed the continuations - a new execution may only start then
+		 */
+		protected volatile boolean arrived;
+
+		protected PlanBarrier()
+		{
+			open = new AtomicInteger();
+			continuations = new AtomicReference<>(StandardTaskBarrier.ARRIVED);
+			failure = new AtomicReference<>();
+			arrived = true;
+		}
+
+		protected void reset(int count)
+		{
+			arrived = false;
+			failure.set(null);
+			continuations.set(null);
+			open.set(count);
+		}
+
+		@Override
+		public void await()
+		{
+			synchronized (this) {
+				while (!arrived) {
+					try {
+						wait();
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+					}
+				}
+			}
+
+			checkFailure();
+		}
+
+		@Override
+		public void await(long timeOut, TimeUnit unit)
+		{
+			assertion.assertTrue(timeOut >= 0, "timeOut >= 0");
+			assertion.assertNotNull(unit, "unit != null");
+
+			long deadline = System.nanoTime() + unit.toNanos(timeOut);
+
+			synchronized (this) {
+				while (!arrived) {
+
+					long left = deadline - System.nanoTime();
+
+					if (left <= 0) {
+						return;
+					}
+
+					try {
+						TimeUnit.NANOSECONDS.timedWait(this, left);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new TaskExecutionException("Interrupted while awaiting barrier", ex);
+					}
+				}
+			}
+
+			checkFailure();
+		}
+
+		protected void checkFailure()
+		{
+			Throwable cause = failure.get();
+
+			if (cause != null) {
+				throw new TaskExecutionException("Task failed", cause);
+			}
+		}
+
+		@Override
+		public void arrive()
+		{
+			if (open.decrementAndGet() == 0) {
+
+				StandardTaskBarrier.executeContinuations(continuations);
+
+				synchronized (this) {
+					arrived = true;
+					notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public void arriveExceptionally(Throwable failure)
+		{
+			assertion.assertNotNull(failure, "failure != null");
+
+			this.failure.compareAndSet(null, failure);
+
+			arrive();
+		}
+
+		@Override
+		public Throwable getFailure()
+		{
+			return failure.get();
+		}
+
+		@Override
+		public boolean isArrived()
+		{
+			return arrived;
+		}
+
+		@Override
+		public void whenArrived(Task continuation)
+		{
+			assertion.assertNotNull(continuation, "continuation != null");
+
+			// The final arrival executes all continuations pushed before it - no recheck needed
+			StandardTaskBarrier.addContinuation(continuations, continuation);
+		}
+	}
+
+	protected final PlanNode[] nodes;
+	protected final TaskGraph.Node[] roots;
+	protected final int[] predecessorCounts;
+	protected final PlanExecution execution;
+	protected final PlanBarrier done;
+
+	/**
+	 * Compiles the given graph - use TaskGraph.compile().
+	 *
+	 * @param graph
+	 */
+	protected TaskPlan(TaskGraph graph)
+	{
+		assertion.assertNotNull(graph, "graph != null");
+		assertion.assertTrue(graph.isValidated(), "graph.isValidated()");
+
+		int size = graph.nodes.size();
+
+		nodes = new PlanNode[size];
+		for (TaskGraph.Node node : graph.nodes) {
+			nodes[node.index] = new PlanNode(node);
+		}
+
+		roots = graph.roots.clone();
+
+		predecessorCounts = graph.predecessorCounts.clone();
+		execution = new PlanExecution(size);
+		done = (PlanBarrier) execution.done;
+	}
+
+	/**
+	 * Resets the plan and submits its roots into the given group. The returned barrier is the same for each execution
+	 * and arrives after all nodes ran.
+	 *
+	 * @param group
+	 * @return
+	 */
+	public TaskBarrier execute(TaskGroup group)
+	{
+		assertion.assertNotNull(group, "group != null");
+		assertion.assertTrue(done.isArrived(), "done.isArrived() - former execution has to be done");
+
+		execution.group = group;
+
+		for (int i = 0; i < predecessorCounts.length; ++i) {
+			execution.openPredecessors.set(i, predecessorCounts[i]);
+		}
+
+		done.reset(nodes.length);
+
+		execution.submitAll(roots);
+
+		return done;
+	}
+
+	/**
+	 * Returns the barrier of the current (or last) execution.
+	 *
+	 * @return
+	 */
+	public TaskBarrier getDone()
+	{
+		return done;
+	}
+}
@@ -0,0 +1,92 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+/**
+ * The TaskQueue is the bounded queue a StandardTaskGroup hands its tasks over to its workers with. Implementations
+ * need a public constructor taking the capacity (int). Consumers never wait in the queue - the group parks and wakes its
+ * workers itself.
+ *
+ * @author Benjamin Schiller
+ */
+public interface TaskQueue
+{
+
+	/**
+	 * Adds the task if there is space left. Does not wait.
+	 *
+	 * @param task
+	 * @return true if the task was added, false if the queue is full
+	 */
+	boolean offer(Task task);
+
+	/**
+	 * Adds the tasks from index from (inclusive) to index to (exclusive) as far as there is space left with a single
+	 * operation on the queue. Does not wait.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @return the number of added tasks - they are always the first ones of the range
+	 */
+	int offerAll(Task[] tasks, int from, int to);
+
+	/**
+	 * Adds the task waiting for space if the queue is full.
+	 *
+	 * @param task
+	 * @throws InterruptedException
+	 */
+	void put(Task task) throws InterruptedException;
+
+	/**
+	 * Removes the next task. Does not wait.
+	 *
+	 * @return the next task or null if the queue is empty
+	 */
+	Task poll();
+
+	/**
+	 * Returns the number of queued tasks at call time.
+	 *
+	 * @return
+	 */
+	int size();
+
+	/**
+	 * Signals if no task was queued at call time.
+	 *
+	 * @return
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Returns the maximal number of queued tasks.
+	 *
+	 * @return
+	 */
+	int capacity();
+}
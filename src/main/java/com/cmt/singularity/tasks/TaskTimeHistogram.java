@@ -0,0 +1,185 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TaskTimeHistogram records durations in nanoseconds into log-linear buckets (like a HDR histogram with 3 bits of
+ * precision): each power of 2 is split into 8 buckets, so a reported value is at most 12.5% above the recorded one.
+ * Buckets are striped counters, so recording from many workers does not contend and costs a few nanoseconds.
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskTimeHistogram
+{
+
+	private final static Assert assertion = Assert.getAssert(TaskTimeHistogram.class.getName());
+
+	/**
+	 * Bits of the sub buckets per power of 2
+	 */
+	protected final static int SUB_BUCKET_BITS = 3;
+
+	protected final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Enough buckets for all positive long values
+	 */
+	protected final static int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	protected final LongAdder[] buckets;
+	protected final LongAdder total;
+	protected final LongAccumulator max;
+
+	public TaskTimeHistogram()
+	{
+		buckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; ++i) {
+			buckets[i] = new LongAdder();
+		}
+
+		total = new LongAdder();
+		max = new LongAccumulator(Math::max, 0);
+	}
+
+	/**
+	 * Returns the bucket of the value. Values below SUB_BUCKETS have their own bucket.
+	 *
+	 * @param value
+	 * @return
+	 */
+	protected static int bucketOf(long value)
+	{
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the highest value which falls into the bucket.
+	 *
+	 * @param bucket
+	 * @return
+	 */
+	protected static long highestValueOf(int bucket)
+	{
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+
+		return lowest + (1L << shift) - 1;
+	}
+
+	/**
+	 * Records a duration. Negative durations (i.e. clock skew between cores) count as 0.
+	 *
+	 * @param nanos
+	 */
+	public void record(long nanos)
+	{
+		long value = Math.max(0, nanos);
+
+		buckets[bucketOf(value)].increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	public long getCount()
+	{
+		long count = 0;
+
+		for (LongAdder bucket : buckets) {
+			count += bucket.sum();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the mean of the recorded durations - 0 if nothing was recorded.
+	 *
+	 * @return
+	 */
+	public double getMean()
+	{
+		long count = getCount();
+
+		return (count > 0) ? (double) total.sum() / count : 0.0;
+	}
+
+	public long getMax()
+	{
+		return max.get();
+	}
+
+	/**
+	 * Returns the (bucket precise) duration at or below which the given percentage of durations was recorded - 0 if
+	 * nothing was recorded.
+	 *
+	 * @param percentile 0.0 to 100.0
+	 * @return
+	 */
+	public long getValueAtPercentile(double percentile)
+	{
+		assertion.assertTrue(percentile >= 0.0 && percentile <= 100.0, "0.0 <= percentile <= 100.0");
+
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+
+		// Snapshot the buckets once, so concurrent recording can not move the target
+		for (int i = 0; i < BUCKETS; ++i) {
+			counts[i] = buckets[i].sum();
+			count += counts[i];
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; ++i) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(highestValueOf(i), getMax());
+			}
+		}
+
+		return getMax();
+	}
+}
@@ -0,0 +1,450 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The TaskTracer records which thread ran what and where it waited into per thread ring buffers and dumps the last
+ * frames as Chrome Trace Event JSON (loadable by chrome://tracing and Perfetto). Recording a slice costs two clock reads
+ * and two array stores - names are kept as classes or constants and only resolved when dumping. Each thread only
+ * writes its own buffer, so recording is lock free. Virtual threads are not traced, as a buffer per virtual thread would
+ * cost too much memory.
+ *
+ * The main loop calls frame() at the start of each frame, dump(file, frames) writes the last frames on demand (i.e.
+ * after a spike).
+ *
+ * @author Benjamin Schiller
+ */
+public final class TaskTracer
+{
+
+	private final static Assert assertion = Assert.getAssert(TaskTracer.class.getName());
+
+	/**
+	 * Key in config to enable tracing when the Tasks are created
+	 */
+	public final static String CONFIGURATION_ENABLED_KEY = "com.cmt.singularity.tasks.TaskTracer.enabled";
+
+	/**
+	 * Default in config to enable tracing = false
+	 */
+	public final static boolean CONFIGURATION_ENABLED_DEFAULT = false;
+
+	/**
+	 * Key in config for the count of entries (begin or end) kept per thread
+	 */
+	public final static String CONFIGURATION_BUFFER_SIZE_KEY = "com.cmt.singularity.tasks.TaskTracer.bufferSize";
+
+	/**
+	 * Default in config for the count of entries kept per thread = 65536
+	 */
+	public final static int CONFIGURATION_BUFFER_SIZE_DEFAULT = 1 << 16;
+
+	/**
+	 * Count of frame starts kept
+	 */
+	public final static int FRAMES = 1024;
+
+	/**
+	 * Name of slices a worker is parked
+	 */
+	public final static String IDLE = "idle";
+
+	/**
+	 * Name of slices a thread awaits a barrier
+	 */
+	public final static String AWAIT = "await";
+
+	/**
+	 * Count of buffers of ended threads kept for dumps - beyond that they are dropped when another thread starts
+	 * tracing, so the buffers do not pile up with short lived threads
+	 */
+	public final static int ENDED_BUFFERS = 16;
+
+	/**
+	 * Ring buffer of a single thread. Only the owner writes, the head is published after the entry, so a reader can
+	 * detect entries overwritten while reading.
+	 */
+	protected final static class Buffer
+	{
+
+		protected final long threadId;
+		protected final String threadName;
+
+		/**
+		 * Weak so a buffer does not keep its ended thread alive
+		 */
+		protected final WeakReference<Thread> thread;
+		protected final long[] times;
+
+		/**
+		 * Name of the begun slice - null for the end of a slice
+		 */
+		protected final Object[] names;
+		protected final int mask;
+		protected final AtomicLong head;
+
+		protected Buffer(Thread thread, int size)
+		{
+			threadId = thread.threadId();
+			threadName = thread.getName();
+			this.thread = new WeakReference<>(thread);
+			times = new long[size];
+			names = new Object[size];
+			mask = size - 1;
+			head = new AtomicLong();
+		}
+
+		protected void record(Object name)
+		{
+			long index = head.get();
+			int slot = (int) index & mask;
+
+			times[slot] = System.nanoTime();
+			names[slot] = name;
+
+			head.lazySet(index + 1);
+		}
+
+		protected boolean isThreadAlive()
+		{
+			Thread current = thread.get();
+
+			return current != null && current.isAlive();
+		}
+	}
+
+	private final static ThreadLocal<Buffer> BUFFER = new ThreadLocal<>();
+
+	private final static List<Buffer> BUFFERS = new CopyOnWriteArrayList<>();
+
+	private final static long[] FRAME_STARTS = new long[FRAMES];
+
+	private final static AtomicLong FRAME_COUNT = new AtomicLong();
+
+	/**
+	 * All written timestamps are relative to the loading of the tracer
+	 */
+	private final static long ORIGIN = System.nanoTime();
+
+	private static volatile boolean enabled;
+
+	private static volatile int bufferSize = CONFIGURATION_BUFFER_SIZE_DEFAULT;
+
+	private TaskTracer()
+	{
+		// Never instantiated
+	}
+
+	/**
+	 * Starts recording with the given count of entries kept per thread (rounded up to a power of 2). Buffers of threads
+	 * which traced before keep their size.
+	 *
+	 * @param bufferSize
+	 */
+	public static void enable(int bufferSize)
+	{
+		assertion.assertTrue(bufferSize > 1, "bufferSize > 1");
+
+		TaskTracer.bufferSize = Integer.highestOneBit(bufferSize - 1) << 1;
+		enabled = true;
+	}
+
+	/**
+	 * Stops recording. Recorded entries are kept and can still be dumped.
+	 */
+	public static void disable()
+	{
+		enabled = false;
+	}
+
+	public static boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Begins a slice on the current thread. The name is a Class (i.e. of the task) or a constant and is only turned
+	 * into a String on dump. Callers check isEnabled() before and end() the slice regardless of later changes.
+	 *
+	 * @param name
+	 */
+	public static void begin(Object name)
+	{
+		assertion.assertNotNull(name, "name != null");
+
+		Buffer buffer = buffer();
+
+		if (buffer != null) {
+			buffer.record(name);
+		}
+	}
+
+	/**
+	 * Ends the innermost slice on the current thread.
+	 */
+	public static void end()
+	{
+		Buffer buffer = buffer();
+
+		if (buffer != null) {
+			buffer.record(null);
+		}
+	}
+
+	/**
+	 * Marks the start of a frame. Called by the main loop.
+	 */
+	public static void frame()
+	{
+		if (!enabled) {
+			return;
+		}
+
+		long frame = FRAME_COUNT.get();
+
+		FRAME_STARTS[(int) (frame % FRAMES)] = System.nanoTime();
+
+		FRAME_COUNT.lazySet(frame + 1);
+	}
+
+	private static Buffer buffer()
+	{
+		Buffer buffer = BUFFER.get();
+
+		if (buffer == null) {
+
+			Thread thread = Thread.currentThread();
+
+			if (thread.isVirtual()) {
+				return null;
+			}
+
+			buffer = new Buffer(thread, bufferSize);
+			BUFFER.set(buffer);
+
+			if (countEndedBuffers() >= ENDED_BUFFERS) {
+				BUFFERS.removeIf(ended -> !ended.isThreadAlive());
+			}
+
+			BUFFERS.add(buffer);
+		}
+
+		return buffer;
+	}
+
+	private static int countEndedBuffers()
+	{
+		int count = 0;
+
+		for (Buffer buffer : BUFFERS) {
+			if (!buffer.isThreadAlive()) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Writes the slices of the last frames (including the current one) into the file as Chrome Trace Event JSON.
+	 *
+	 * @param file
+	 * @param frames
+	 * @throws IOException
+	 */
+	public static void dump(Path file, int frames) throws IOException
+	{
+		assertion.assertNotNull(file, "file != null");
+
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			write(writer, frames);
+		}
+	}
+
+	/**
+	 * Writes the slices of the last frames (including the current one) as Chrome Trace Event JSON. If no frame was
+	 * marked all kept slices are written.
+	 *
+	 * @param writer
+	 * @param frames
+	 * @throws IOException
+	 */
+	public static void write(Writer writer, int frames) throws IOException
+	{
+		assertion.assertNotNull(writer, "writer != null");
+		assertion.assertTrue(frames > 0 && frames <= FRAMES, "0 < frames <= FRAMES");
+
+		Writer out = (writer instanceof BufferedWriter) ? writer : new BufferedWriter(writer);
+
+		// Frame starts of the requested frames - the oldest may have been overwritten while reading
+		long frameCount = FRAME_COUNT.get();
+		long firstFrame = Math.max(0, frameCount - frames);
+		long[] frameStarts = new long[(int) (frameCount - firstFrame)];
+
+		for (int i = 0; i < frameStarts.length; ++i) {
+			frameStarts[i] = FRAME_STARTS[(int) ((firstFrame + i) % FRAMES)];
+		}
+
+		long from = (frameStarts.length > 0) ? frameStarts[0] : Long.MIN_VALUE;
+		long base = ORIGIN;
+
+		out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+		boolean first = true;
+
+		for (int i = 0; i < frameStarts.length; ++i) {
+			first = writeEvent(out, first, "{\"name\":\"Frame " + (firstFrame + i) + "\",\"cat\":\"frame\",\"ph\":\"i\",\"s\":\"g\",\"pid\":1,\"tid\":0,\"ts\":" + micros(frameStarts[i] - base) + "}");
+		}
+
+		for (Buffer buffer : BUFFERS) {
+
+			long[] times = buffer.times;
+			Object[] names = buffer.names;
+
+			// Copy the kept entries and drop the ones overwritten meanwhile (including the one being written)
+			long end = buffer.head.get();
+			long start = Math.max(0, end - times.length);
+			int count = (int) (end - start);
+			long[] copiedTimes = new long[count];
+			Object[] copiedNames = new Object[count];
+
+			for (int i = 0; i < count; ++i) {
+				int slot = (int) (start + i) & buffer.mask;
+				copiedTimes[i] = times[slot];
+				copiedNames[i] = names[slot];
+			}
+
+			long valid = Math.max(start, buffer.head.get() - times.length + 1);
+
+			first = writeEvent(out, first, "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + buffer.threadId + ",\"args\":{\"name\":" + quote(buffer.threadName) + "}}");
+
+			// Names of the open slices - the ones begun before the requested frames are begun at the first frame
+			List<Object> open = new ArrayList<>();
+			boolean inFrames = false;
+
+			for (long index = valid; index < end; ++index) {
+
+				int i = (int) (index - start);
+				Object name = copiedNames[i];
+				long time = copiedTimes[i];
+
+				if (!inFrames && time >= from) {
+					inFrames = true;
+					for (Object openName : open) {
+						first = writeBegin(out, first, buffer, openName, from - base);
+					}
+				}
+
+				if (name != null) {
+					open.add(name);
+					if (inFrames) {
+						first = writeBegin(out, first, buffer, name, time - base);
+					}
+				} // Ends of slices begun before the kept entries are skipped
+				else if (!open.isEmpty()) {
+					open.remove(open.size() - 1);
+					if (inFrames) {
+						first = writeEvent(out, first, "{\"ph\":\"E\",\"pid\":1,\"tid\":" + buffer.threadId + ",\"ts\":" + micros(time - base) + "}");
+					}
+				}
+			}
+		}
+
+		out.write("]}");
+		out.flush();
+	}
+
+	private static boolean writeBegin(Writer out, boolean first, Buffer buffer, Object name, long time) throws IOException
+	{
+		return writeEvent(out, first, "{\"name\":" + quote(nameOf(name)) + ",\"cat\":\"task\",\"ph\":\"B\",\"pid\":1,\"tid\":" + buffer.threadId + ",\"ts\":" + micros(time) + "}");
+	}
+
+	private static boolean writeEvent(Writer out, boolean first, String event) throws IOException
+	{
+		if (!first) {
+			out.write(",\n");
+		}
+
+		out.write(event);
+
+		return false;
+	}
+
+	private static String nameOf(Object name)
+	{
+		if (name instanceof Class<?> type) {
+			return type.getName();
+		}
+
+		return String.valueOf(name);
+	}
+
+	private static String micros(long nanos)
+	{
+		return String.valueOf(nanos / 1000.0);
+	}
+
+	private static String quote(String value)
+	{
+		StringBuilder result = new StringBuilder(value.length() + 2);
+
+		result.append('"');
+
+		for (int i = 0; i < value.length(); ++i) {
+
+			char c = value.charAt(i);
+
+			switch (c) {
+				case '"' ->
+					result.append("\\\"");
+				case '\\' ->
+					result.append("\\\\");
+				default -> {
+					if (c < 0x20) {
+						result.append(String.format("\\u%04x", (int) c));
+					} else {
+						result.append(c);
+					}
+				}
+			}
+		}
+
+		return result.append('"').toString();
+	}
+}
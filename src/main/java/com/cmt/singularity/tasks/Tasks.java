@@ -25,6 +25,8 @@
 //</editor-fold>
 package com.cmt.singularity.tasks;
 
+import com.cmt.singularity.ConfigKey;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -38,7 +40,23 @@ public interface Tasks
 {
 
 	/**
-	 * Creates and registers the task group in this tasks.
+	 * Key in config for the class of the task groups created by createTaskGroup. A single group can be configured by
+	 * appending "." and its name to the key.
+	 */
+	public final static String CONFIGURATION_TASK_GROUP_CLASS_KEY = "com.cmt.singularity.tasks.Tasks.taskGroupClass";
+
+	/**
+	 * Default in config for the class of the task groups
+	 */
+	public final static Class<? extends TaskGroup> CONFIGURATION_TASK_GROUP_CLASS_DEFAULT = StandardTaskGroup.class;
+
+	/**
+	 * Typed key of the class of the task groups
+	 */
+	public final static ConfigKey<Class<?>> CONFIGURATION_TASK_GROUP_CLASS = ConfigKey.ofClass(CONFIGURATION_TASK_GROUP_CLASS_KEY, CONFIGURATION_TASK_GROUP_CLASS_DEFAULT);
+
+	/**
+	 * Creates and registers the task group in this tasks. The class of the group is taken from the configuration.
 	 *
 	 * @param name
 	 * @param poolSize
@@ -48,6 +66,28 @@ public interface Tasks
 	 */
 	TaskGroup createTaskGroup(String name, int poolSize, int queueSize, boolean daemon);
 
+	/**
+	 * Creates and registers the task group of the given class in this tasks. The class has to provide a public
+	 * constructor (Configuration configuration, String name, int poolSize, int queueSize, boolean daemon).
+	 *
+	 * @param name
+	 * @param poolSize
+	 * @param queueSize
+	 * @param daemon
+	 * @param groupClass
+	 * @return
+	 */
+	TaskGroup createTaskGroup(String name, int poolSize, int queueSize, boolean daemon, Class<? extends TaskGroup> groupClass);
+
+	/**
+	 * Creates and registers a task group without own threads. Its tasks are executed by the thread calling runPending
+	 * on it - meant for thread-affine APIs which have to be called from the main thread.
+	 *
+	 * @param name
+	 * @return
+	 */
+	PumpedTaskGroup createPumpedTaskGroup(String name);
+
 	/**
 	 * Returns a Set of the task groups at call time. Changes of tasks groups are not reflected.
 	 *
@@ -63,6 +103,13 @@ public interface Tasks
 	 */
 	Optional<TaskGroup> getTaskGroupByName(String name);
 
+	/**
+	 * Returns the metrics of the task groups at call time by group name.
+	 *
+	 * @return
+	 */
+	Map<String, TaskGroupMetrics> getMetrics();
+
 	/**
 	 * Waits till ALL tasks in that group have been processed - means no tasks in queue and all tasks that were
 	 * processed exited their execute() method.
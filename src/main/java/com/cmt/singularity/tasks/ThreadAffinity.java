@@ -0,0 +1,198 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.io.File;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Pins threads to CPUs and maps CPUs to NUMA nodes. Pinning uses sched_setaffinity on Linux via the foreign function
+ * API - on other systems or without native access (--enable-native-access=com.cmt.singularity) pinning is not
+ * supported and pinCurrentThread returns false.
+ *
+ * @author Benjamin Schiller
+ */
+public final class ThreadAffinity
+{
+
+	private final static Logger log = LogManager.getLogger(ThreadAffinity.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(ThreadAffinity.class.getName());
+
+	/**
+	 * Holds the native handle, so it is just looked up on the first pinning - loading ThreadAffinity for parsing the
+	 * configuration does not touch the linker (and trigger the native access warning of the JVM)
+	 */
+	private final static class Native
+	{
+
+		/**
+		 * int sched_setaffinity(pid_t pid, size_t cpusetsize, const cpu_set_t *mask) - null if not available
+		 */
+		private final static MethodHandle SCHED_SETAFFINITY = lookupSchedSetAffinity();
+	}
+
+	private ThreadAffinity()
+	{
+		// never instantiated
+	}
+
+	private static MethodHandle lookupSchedSetAffinity()
+	{
+		if (!System.getProperty("os.name", "").toLowerCase().contains("linux")) {
+			return null;
+		}
+
+		try {
+			Linker linker = Linker.nativeLinker();
+
+			return linker.defaultLookup().find("sched_setaffinity")
+				.map(address -> linker.downcallHandle(address,
+				FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.ADDRESS)))
+				.orElse(null);
+		} catch (RuntimeException ex) {
+			// i.e. IllegalCallerException if native access is not enabled for the module
+			log.warn("Thread affinity is not available", ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Returns if threads can be pinned on this system.
+	 *
+	 * @return
+	 */
+	public static boolean isSupported()
+	{
+		return Native.SCHED_SETAFFINITY != null;
+	}
+
+	/**
+	 * Pins the calling thread to the given CPUs.
+	 *
+	 * @param cpus
+	 * @return true if the thread got pinned
+	 */
+	public static boolean pinCurrentThread(int... cpus)
+	{
+		assertion.assertNotNull(cpus, "cpus != null");
+		assertion.assertTrue(cpus.length > 0, "cpus.length > 0");
+
+		MethodHandle schedSetAffinity = Native.SCHED_SETAFFINITY;
+
+		if (schedSetAffinity == null) {
+			return false;
+		}
+
+		int words = Arrays.stream(cpus).max().getAsInt() / Long.SIZE + 1;
+
+		try (Arena arena = Arena.ofConfined()) {
+
+			// Allocated zeroed - a bit for each cpu
+			MemorySegment mask = arena.allocate(words * 8L, 8L);
+
+			for (int cpu : cpus) {
+				assertion.assertTrue(cpu >= 0, "cpu >= 0");
+
+				long offset = (cpu / Long.SIZE) * 8L;
+				mask.set(ValueLayout.JAVA_LONG, offset, mask.get(ValueLayout.JAVA_LONG, offset) | (1L << (cpu % Long.SIZE)));
+			}
+
+			// pid 0 is the calling thread
+			int result = (int) schedSetAffinity.invokeExact(0, words * 8L, mask);
+
+			if (result != 0) {
+				log.warn("Could not pin thread", Thread.currentThread().getName(), Arrays.toString(cpus));
+				return false;
+			}
+
+			return true;
+		} catch (Throwable ex) {
+			log.warn("Could not pin thread", Thread.currentThread().getName(), ex.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the NUMA node of the given CPU as listed in /sys/devices/system/cpu/cpuN/nodeM.
+	 *
+	 * @param cpu
+	 * @return the node or -1 if unknown
+	 */
+	public static int getNumaNode(int cpu)
+	{
+		assertion.assertTrue(cpu >= 0, "cpu >= 0");
+
+		String[] entries = new File("/sys/devices/system/cpu/cpu" + cpu).list();
+
+		if (entries != null) {
+			for (String entry : entries) {
+				if (entry.startsWith("node") && entry.length() > 4 && Character.isDigit(entry.charAt(4))) {
+					return Integer.parseInt(entry.substring(4));
+				}
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Parses a CPU list in the Linux list format (i.e. "0-3,8,10-11").
+	 *
+	 * @param cpuList
+	 * @return the CPUs in the order of the list
+	 */
+	public static int[] parseCpuList(String cpuList)
+	{
+		assertion.assertNotNull(cpuList, "cpuList != null");
+
+		try {
+			return Arrays.stream(cpuList.split(","))
+				.map(String::trim)
+				.filter(part -> !part.isEmpty())
+				.flatMapToInt(part -> {
+					int dash = part.indexOf('-');
+					if (dash < 0) {
+						return IntStream.of(Integer.parseInt(part));
+					}
+					return IntStream.rangeClosed(Integer.parseInt(part.substring(0, dash).trim()), Integer.parseInt(part.substring(dash + 1).trim()));
+				})
+				.toArray();
+		} catch (NumberFormatException ex) {
+			throw new RuntimeException("Invalid cpu list '" + cpuList + "'", ex);
+		}
+	}
+}
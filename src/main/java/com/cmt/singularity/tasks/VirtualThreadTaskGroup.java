@@ -0,0 +1,213 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.ConfigKey;
+import com.cmt.singularity.Configuration;
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The VirtualThreadTaskGroup executes each task in its own virtual thread. It is meant for tasks blocking on I/O (i.e.
+ * loading assets) - a blocked virtual thread does not hold an OS thread, so thousands of tasks can be in flight.
+ *
+ * The number of concurrently executing tasks can be limited by configuration, further tasks wait (in their virtual
+ * thread) for a permit. poolSize and queueSize are not used as threads are not pooled and tasks are not queued.
+ *
+ * @author Benjamin Schiller
+ */
+public class VirtualThreadTaskGroup extends AbstractTaskGroup
+{
+
+	private final static Logger log = LogManager.getLogger(VirtualThreadTaskGroup.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(VirtualThreadTaskGroup.class.getName());
+
+	/**
+	 * Key in config for the maximal number of concurrently executing tasks. A single group can be configured by
+	 * appending "." and its name to the key.
+	 */
+	public final static String CONFIGURATION_CONCURRENCY_KEY = "com.cmt.singularity.tasks.VirtualThreadTaskGroup.concurrency";
+
+	/**
+	 * Default in config for the maximal number of concurrently executing tasks = 0 (unlimited)
+	 */
+	public final static int CONFIGURATION_CONCURRENCY_DEFAULT = 0;
+
+	/**
+	 * Typed key of the maximal number of concurrently executing tasks
+	 */
+	public final static ConfigKey<Integer> CONFIGURATION_CONCURRENCY = ConfigKey.ofInt(CONFIGURATION_CONCURRENCY_KEY, CONFIGURATION_CONCURRENCY_DEFAULT);
+
+	protected final ThreadFactory threadFactory;
+
+	/**
+	 * Limits the concurrently executing tasks - null if unlimited
+	 */
+	protected final Semaphore permits;
+
+	protected final AtomicBoolean terminated;
+	protected volatile TaskBarrier terminationBarrier;
+
+	/**
+	 * Set once the group is ending and no task was pending - tasks enqueued after that are dropped
+	 */
+	protected volatile boolean closed;
+
+	public VirtualThreadTaskGroup(Configuration configuration, String name, int poolSize, int queueSize, boolean daemon)
+	{
+		super(configuration, name);
+
+		int maxConcurrency = getGroupConfiguration(configuration.getSnapshot(), name, CONFIGURATION_CONCURRENCY);
+
+		assertion.assertTrue(maxConcurrency >= 0, "maxConcurrency >= 0");
+
+		threadFactory = Thread.ofVirtual().name(name + " ", 0).factory();
+		permits = (maxConcurrency > 0) ? new Semaphore(maxConcurrency) : null;
+		terminated = new AtomicBoolean();
+	}
+
+	/**
+	 * Starts a virtual thread executing the task. The priority is not used as all tasks start right away. Tasks are
+	 * accepted while ending like in the pooled groups and dropped once the group is closed.
+	 *
+	 * @param task
+	 * @param priority
+	 */
+	@Override
+	protected void enqueue(Task task, TaskPriority priority)
+	{
+		// Counted before the check - the termination either sees the task pending or the task sees the group closed
+		taskQueued();
+
+		if (closed) {
+			log.warn("Dropping task as group is ended", name);
+			taskDropped(task);
+			taskDone();
+			return;
+		}
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(task), priority, 1);
+		}
+
+		threadFactory.newThread(() -> runTask(task)).start();
+	}
+
+	/**
+	 * Waits for a permit if the concurrency is limited and executes the task.
+	 *
+	 * @param task
+	 */
+	@Override
+	protected void runTask(Task task)
+	{
+		if (permits != null) {
+			try {
+				permits.acquire();
+			} catch (InterruptedException ex) {
+				log.error(ex);
+				// Arrives a wrapper exceptionally so barriers waiting for the task do not hang
+				discardTask(task);
+				return;
+			}
+		}
+
+		try {
+			// Tasks started before ending are drained like queued tasks of the other groups
+			super.runTask(task);
+		} finally {
+			if (permits != null) {
+				permits.release();
+			}
+		}
+	}
+
+	@Override
+	protected void taskDone()
+	{
+		super.taskDone();
+
+		if (ending && pendingTasks.get() == 0) {
+			terminate();
+		}
+	}
+
+	/**
+	 * Closes the group for further tasks and arrives the termination barrier once no task is pending. A task accepted
+	 * right before closing keeps the group running till it is done.
+	 */
+	protected void terminate()
+	{
+		TaskBarrier barrier = terminationBarrier;
+
+		if (barrier == null) {
+			return;
+		}
+
+		closed = true;
+
+		if (pendingTasks.get() == 0 && terminated.compareAndSet(false, true)) {
+
+			ended = true;
+
+			log.trace("Ended", name);
+
+			barrier.arrive();
+		}
+	}
+
+	/**
+	 * Ends this task group gracefully. Tasks enqueued before and while ending still execute, the returned barrier
+	 * arrives after all of them are done.
+	 *
+	 * @return
+	 */
+	@Override
+	public TaskBarrier endGracefully()
+	{
+		assertion.assertFalse(ending, "ending == false");
+		assertion.assertFalse(ended, "ended == false");
+
+		log.trace("endGracefully:enter");
+
+		terminationBarrier = new StandardTaskBarrier(1);
+
+		ending = true;
+
+		if (pendingTasks.get() == 0) {
+			terminate();
+		}
+
+		log.trace("endGracefully:exit");
+
+		return terminationBarrier;
+	}
+}
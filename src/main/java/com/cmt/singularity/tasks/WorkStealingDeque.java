@@ -0,0 +1,207 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.assertion.Assert;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * The WorkStealingDeque is a lock free Chase-Lev deque. The owning thread pushes and pops at the bottom (LIFO) while
+ * any other thread may steal from the top (FIFO). The backing array grows on demand, it never shrinks. Whoever wins
+ * a task clears its slot, so executed tasks do not stay reachable from the deque.
+ *
+ * See "Correct and Efficient Work-Stealing for Weak Memory Models" (Lê, Pop, Cohen, Zappa Nardelli 2013).
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingDeque
+{
+
+	private final static Assert assertion = Assert.getAssert(WorkStealingDeque.class.getName());
+
+	protected final static VarHandle TOP;
+	protected final static VarHandle BOTTOM;
+	protected final static VarHandle SLOT = MethodHandles.arrayElementVarHandle(Task[].class);
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			TOP = lookup.findVarHandle(WorkStealingDeque.class, "top", long.class);
+			BOTTOM = lookup.findVarHandle(WorkStealingDeque.class, "bottom", long.class);
+		} catch (NoSuchFieldException | IllegalAccessException ex) {
+			throw new ExceptionInInitializerError(ex);
+		}
+	}
+
+	/**
+	 * Next index to steal from - only advanced by CAS
+	 */
+	protected volatile long top;
+
+	/**
+	 * Next index to push to - only written by the owner
+	 */
+	protected volatile long bottom;
+
+	/**
+	 * Ring of tasks, length is always a power of 2
+	 */
+	protected volatile Task[] tasks;
+
+	public WorkStealingDeque(int initialCapacity)
+	{
+		assertion.assertTrue(initialCapacity > 0, "initialCapacity > 0");
+
+		tasks = new Task[Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1];
+	}
+
+	/**
+	 * Pushes the task to the bottom. May only be called by the owning thread.
+	 *
+	 * @param task
+	 */
+	public void push(Task task)
+	{
+		assertion.assertNotNull(task, "task != null");
+
+		long b = (long) BOTTOM.getOpaque(this);
+		long t = (long) TOP.getAcquire(this);
+		Task[] a = tasks;
+
+		// A slot still holding a task was won by a thief which did not clear it yet - grow instead of overwriting it
+		if (b - t > a.length - 1 || SLOT.getAcquire(a, (int) b & (a.length - 1)) != null) {
+			a = grow(a, t, b);
+		}
+
+		SLOT.setRelease(a, (int) b & (a.length - 1), task);
+		BOTTOM.setRelease(this, b + 1);
+	}
+
+	/**
+	 * Pops the most recently pushed task from the bottom. May only be called by the owning thread.
+	 *
+	 * @return the task or null if the deque is empty
+	 */
+	public Task pop()
+	{
+		long b = (long) BOTTOM.getOpaque(this) - 1;
+		Task[] a = tasks;
+
+		// Volatile write followed by the volatile read of top is the StoreLoad fence the algorithm requires
+		bottom = b;
+		long t = top;
+
+		if (t > b) {
+			// Was empty
+			bottom = b + 1;
+			return null;
+		}
+
+		int index = (int) b & (a.length - 1);
+		Task task = (Task) SLOT.getAcquire(a, index);
+
+		if (t == b) {
+			// Last element - race against thieves, the winner clears the slot
+			boolean won = TOP.compareAndSet(this, t, t + 1);
+			bottom = b + 1;
+			if (!won) {
+				return null;
+			}
+		}
+
+		SLOT.setRelease(a, index, null);
+
+		return task;
+	}
+
+	/**
+	 * Steals the oldest task from the top. May be called by any thread.
+	 *
+	 * @return the task or null if the deque is empty or the steal lost a race
+	 */
+	public Task steal()
+	{
+		long t = top;
+		long b = bottom;
+
+		if (t >= b) {
+			return null;
+		}
+
+		Task[] a = tasks;
+		Task task = (Task) SLOT.getAcquire(a, (int) t & (a.length - 1));
+
+		if (!TOP.compareAndSet(this, t, t + 1)) {
+			return null;
+		}
+
+		// The owner does not push into a slot which still holds a task, so the CAS can not clear a live entry even if
+		// the same task instance is pushed again
+		SLOT.compareAndSet(a, (int) t & (a.length - 1), task, null);
+
+		// The owner might have copied the slot while growing
+		Task[] current = tasks;
+		if (current != a) {
+			SLOT.compareAndSet(current, (int) t & (current.length - 1), task, null);
+		}
+
+		return task;
+	}
+
+	protected Task[] grow(Task[] old, long t, long b)
+	{
+		Task[] a = new Task[old.length << 1];
+
+		for (long i = t; i < b; ++i) {
+			a[(int) i & (a.length - 1)] = old[(int) i & (old.length - 1)];
+		}
+
+		tasks = a;
+
+		return a;
+	}
+
+	/**
+	 * Returns true if the deque was empty at call time - might be outdated on return when accessed concurrently.
+	 *
+	 * @return
+	 */
+	public boolean isEmpty()
+	{
+		return top >= bottom;
+	}
+
+	/**
+	 * Returns the estimated size at call time.
+	 *
+	 * @return
+	 */
+	public int size()
+	{
+		return (int) Math.max(0, bottom - top);
+	}
+}
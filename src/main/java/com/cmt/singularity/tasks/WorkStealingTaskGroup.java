@@ -0,0 +1,591 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import com.cmt.singularity.assertion.Assert;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The WorkStealingTaskGroup gives each worker its own WorkStealingDeque. Tasks submitted from inside a worker are
+ * pushed to and popped from its own deque (LIFO), tasks submitted from other threads go to a shared submission queue.
+ * Workers running out of work steal from the other deques (FIFO) and back off (spin, yield, park) if there is nothing
+ * to steal. Tasks with priority CRITICAL and BACKGROUND bypass the deques and go to shared queues which are checked
+ * before respectively after the FRAME work, a level skipped priorityAging times is served first.
+ *
+ * If an affinity is configured each worker pins itself before allocating its deque (with -XX:+UseNUMA it is then
+ * allocated on the node of the worker) and steals from workers on the same NUMA node first.
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingTaskGroup extends AbstractTaskGroup
+{
+
+	private final static Logger log = LogManager.getLogger(WorkStealingTaskGroup.class.getName());
+
+	private final static Assert assertion = Assert.getAssert(WorkStealingTaskGroup.class.getName());
+
+	protected final class Worker extends Thread
+	{
+
+		protected final int index;
+
+		protected final int queueSize;
+
+		/**
+		 * Allocated by the worker itself after pinning - published to the others by the startup latches
+		 */
+		protected WorkStealingDeque deque;
+
+		/**
+		 * NUMA node of the CPU the worker is pinned to or -1
+		 */
+		protected int node;
+
+		/**
+		 * Other workers on the same node and on other nodes - stealing tries the near ones first
+		 */
+		protected Worker[] nearVictims;
+		protected Worker[] farVictims;
+
+		/**
+		 * Set by the worker before parking, cleared by whoever unparks it
+		 */
+		protected final AtomicBoolean parked;
+
+		protected volatile TaskBarrier terminationBarrier;
+
+		protected volatile boolean ended;
+
+		/**
+		 * Xorshift state for picking steal victims
+		 */
+		protected int seed;
+
+		/**
+		 * How often FRAME and BACKGROUND work was skipped while available - only accessed by this worker
+		 */
+		protected int frameSkipped;
+		protected int backgroundSkipped;
+
+		public Worker(String name, int index, int queueSize, boolean daemon)
+		{
+			super();
+
+			assertion.assertNotNull(name, "name != null");
+
+			this.index = index;
+			this.queueSize = queueSize;
+			parked = new AtomicBoolean();
+			seed = index * 0x9E3779B9 + 1;
+			setName(name + " " + index);
+			setDaemon(daemon);
+		}
+
+		public void terminate(TaskBarrier terminationBarrier)
+		{
+			assertion.assertNotNull(terminationBarrier, "terminationBarrier != null");
+
+			log.trace("Terminating", getName());
+
+			this.terminationBarrier = terminationBarrier;
+
+			LockSupport.unpark(this);
+		}
+
+		@Override
+		public void run()
+		{
+			log.trace("Starting", getName());
+
+			node = pinWorker(index);
+			deque = new WorkStealingDeque(queueSize);
+
+			pinnedWorkers.countDown();
+			awaitLatch(victimsAssigned);
+
+			int idleRounds = 0;
+
+			while (true) {
+
+				Task task = findTask(this);
+
+				if (task != null) {
+					runTask(task);
+					idleRounds = 0;
+				} // Exit once the tasks queued before the termination are drained
+				else if (terminationBarrier != null && !hasVisibleWork()) {
+					break;
+				} else if (!backoff(idleRounds++)) {
+					idle(this);
+				}
+			}
+
+			ended = true;
+
+			// Check if all workers are ended -> drop what is left and set global ended to true
+			boolean allEnded = true;
+			for (Worker worker : workers) {
+				if (!worker.ended) {
+					allEnded = false;
+				}
+			}
+
+			// Ended before the drain - a submitter which missed the flag either sees its task discarded here or
+			// discards it itself
+			if (allEnded) {
+				WorkStealingTaskGroup.this.ended = true;
+				discardRemainingTasks();
+			}
+
+			log.trace("Exiting", getName());
+
+			terminationBarrier.arrive();
+		}
+
+		protected WorkStealingTaskGroup getGroup()
+		{
+			return WorkStealingTaskGroup.this;
+		}
+
+		protected int nextVictim(int bound)
+		{
+			int x = seed;
+			x ^= x << 13;
+			x ^= x >>> 17;
+			x ^= x << 5;
+			seed = x;
+
+			return (x & Integer.MAX_VALUE) % bound;
+		}
+	}
+
+	protected final Worker[] workers;
+	protected final Queue<Task> submissions;
+	protected final Queue<Task> criticalSubmissions;
+	protected final Queue<Task> backgroundSubmissions;
+	protected final AtomicInteger idleWorkers;
+	protected final CountDownLatch pinnedWorkers;
+	protected final CountDownLatch victimsAssigned;
+
+	@SuppressWarnings("CallToThreadStartDuringObjectConstruction")
+	public WorkStealingTaskGroup(Configuration configuration, String name, int poolSize, int queueSize, boolean daemon)
+	{
+		super(configuration, name);
+
+		assertion.assertTrue(poolSize > 0, "poolSize > 0");
+		assertion.assertTrue(queueSize > 0, "queueSize > 0");
+
+		submissions = new ConcurrentLinkedQueue<>();
+		criticalSubmissions = new ConcurrentLinkedQueue<>();
+		backgroundSubmissions = new ConcurrentLinkedQueue<>();
+		idleWorkers = new AtomicInteger();
+		pinnedWorkers = new CountDownLatch(poolSize);
+		victimsAssigned = new CountDownLatch(1);
+
+		workers = new Worker[poolSize];
+
+		for (int i = 0; i < poolSize; ++i) {
+			workers[i] = new Worker(name, i, queueSize, daemon);
+		}
+
+		// Start after all workers exist as they steal from each other
+		for (Worker worker : workers) {
+			worker.start();
+		}
+
+		// The nodes are known once the workers pinned themselves
+		awaitLatch(pinnedWorkers);
+		assignVictims();
+		victimsAssigned.countDown();
+	}
+
+	protected static void awaitLatch(CountDownLatch latch)
+	{
+		try {
+			latch.await();
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Splits the other workers of each worker into the ones on the same NUMA node and the rest.
+	 */
+	protected void assignVictims()
+	{
+		for (Worker worker : workers) {
+
+			List<Worker> near = new ArrayList<>();
+			List<Worker> far = new ArrayList<>();
+
+			for (Worker other : workers) {
+				if (other != worker) {
+					(other.node == worker.node ? near : far).add(other);
+				}
+			}
+
+			worker.nearVictims = near.toArray(Worker[]::new);
+			worker.farVictims = far.toArray(Worker[]::new);
+		}
+	}
+
+	@Override
+	protected void enqueue(Task task, TaskPriority priority)
+	{
+		if (ended) {
+			log.warn("Dropping task as group is ended", name);
+			taskDropped(task);
+			return;
+		}
+
+		taskQueued();
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(task), priority, 1);
+		}
+
+		// Workers of this group push to their own deque - all others use the shared submissions
+		if (priority == TaskPriority.CRITICAL) {
+			criticalSubmissions.offer(task);
+		} else if (priority == TaskPriority.BACKGROUND) {
+			backgroundSubmissions.offer(task);
+		} else if (Thread.currentThread() instanceof Worker worker && worker.getGroup() == this) {
+			worker.deque.push(task);
+		} else {
+			submissions.offer(task);
+		}
+
+		signalWork();
+		discardIfEnded();
+	}
+
+	/**
+	 * Pushes the batch to the own deque (workers of this group) or appends it to a shared queue with a single CAS and
+	 * wakes as many workers.
+	 *
+	 * @param tasks
+	 * @param from
+	 * @param to
+	 * @param priority
+	 */
+	@Override
+	protected void enqueueAll(Task[] tasks, int from, int to, TaskPriority priority)
+	{
+		if (ended) {
+			log.warn("Dropping tasks as group is ended", name, to - from);
+			for (int i = from; i < to; ++i) {
+				taskDropped(tasks[i]);
+			}
+			return;
+		}
+
+		taskQueued(to - from);
+
+		if (TaskEnqueuedEvent.isRecording()) {
+			TaskEnqueuedEvent.commit(name, unwrap(tasks[from]), priority, to - from);
+		}
+
+		if (priority == TaskPriority.CRITICAL) {
+			criticalSubmissions.addAll(Arrays.asList(tasks).subList(from, to));
+		} else if (priority == TaskPriority.BACKGROUND) {
+			backgroundSubmissions.addAll(Arrays.asList(tasks).subList(from, to));
+		} else if (Thread.currentThread() instanceof Worker worker && worker.getGroup() == this) {
+			for (int i = from; i < to; ++i) {
+				worker.deque.push(tasks[i]);
+			}
+		} else {
+			submissions.addAll(Arrays.asList(tasks).subList(from, to));
+		}
+
+		signalWork(to - from);
+		discardIfEnded();
+	}
+
+	/**
+	 * Discards what is left in the queues if the group ended while tasks were added. The last worker sets ended before
+	 * its final drain, so a task added after that drain is discarded here instead of being stranded.
+	 */
+	protected void discardIfEnded()
+	{
+		if (ended) {
+			discardRemainingTasks();
+		}
+	}
+
+	/**
+	 * Workers of this group pop their own FRAME submissions from their deque last in first out.
+	 *
+	 * @return
+	 */
+	@Override
+	protected boolean takesOwnSubmissionsLifo()
+	{
+		return Thread.currentThread() instanceof Worker worker && worker.getGroup() == this;
+	}
+
+	@Override
+	protected int getIdleWorkerCount()
+	{
+		return idleWorkers.get();
+	}
+
+	protected Task findTask(Worker worker)
+	{
+		Task task;
+
+		// Serve aged levels first
+		if (worker.backgroundSkipped >= priorityAging) {
+			worker.backgroundSkipped = 0;
+			task = pollShared(backgroundSubmissions);
+			if (task != null) {
+				return task;
+			}
+		}
+
+		if (worker.frameSkipped >= priorityAging) {
+			worker.frameSkipped = 0;
+			task = findFrameTask(worker);
+			if (task != null) {
+				return task;
+			}
+		}
+
+		task = pollShared(criticalSubmissions);
+
+		if (task != null) {
+			if (!worker.deque.isEmpty() || !submissions.isEmpty()) {
+				worker.frameSkipped++;
+			}
+			if (!backgroundSubmissions.isEmpty()) {
+				worker.backgroundSkipped++;
+			}
+			return task;
+		}
+
+		task = findFrameTask(worker);
+
+		if (task != null) {
+			if (!backgroundSubmissions.isEmpty()) {
+				worker.backgroundSkipped++;
+			}
+			return task;
+		}
+
+		return pollShared(backgroundSubmissions);
+	}
+
+	protected Task pollShared(Queue<Task> queue)
+	{
+		Task task = queue.poll();
+
+		if (task != null && !queue.isEmpty()) {
+			signalWork();
+		}
+
+		return task;
+	}
+
+	protected Task findFrameTask(Worker worker)
+	{
+		Task task = worker.deque.pop();
+
+		if (task != null) {
+			return task;
+		}
+
+		task = pollShared(submissions);
+
+		if (task != null) {
+			return task;
+		}
+
+		task = steal(worker, worker.nearVictims);
+
+		if (task != null) {
+			return task;
+		}
+
+		return steal(worker, worker.farVictims);
+	}
+
+	/**
+	 * Tries to steal from the given victims starting at a random one.
+	 *
+	 * @param worker
+	 * @param victims
+	 * @return
+	 */
+	protected Task steal(Worker worker, Worker[] victims)
+	{
+		if (victims.length == 0) {
+			return null;
+		}
+
+		int start = worker.nextVictim(victims.length);
+		for (int i = 0; i < victims.length; ++i) {
+
+			Worker victim = victims[(start + i) % victims.length];
+
+			Task task = victim.deque.steal();
+
+			if (task != null) {
+				metrics.taskStolen();
+				if (!victim.deque.isEmpty()) {
+					signalWork();
+				}
+				return task;
+			}
+		}
+
+		return null;
+	}
+
+	protected boolean hasVisibleWork()
+	{
+		if (!submissions.isEmpty() || !criticalSubmissions.isEmpty() || !backgroundSubmissions.isEmpty()) {
+			return true;
+		}
+
+		for (Worker worker : workers) {
+			if (!worker.deque.isEmpty()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected void idle(Worker worker)
+	{
+		worker.parked.set(true);
+		idleWorkers.incrementAndGet();
+
+		// Recheck after announcing to be idle - a submitter either sees the idle worker or the worker sees the task
+		if (!hasVisibleWork() && worker.terminationBarrier == null) {
+			LockSupport.park(this);
+		}
+
+		idleWorkers.decrementAndGet();
+		worker.parked.set(false);
+	}
+
+	/**
+	 * Unparks one parked worker if there is any.
+	 */
+	protected void signalWork()
+	{
+		signalWork(1);
+	}
+
+	/**
+	 * Unparks up to count parked workers.
+	 *
+	 * @param count
+	 */
+	protected void signalWork(int count)
+	{
+		if (idleWorkers.get() == 0) {
+			return;
+		}
+
+		int woken = 0;
+
+		for (Worker worker : workers) {
+			if (worker.parked.get() && worker.parked.compareAndSet(true, false)) {
+				LockSupport.unpark(worker);
+				if (++woken == count) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discards the queued tasks after the workers ended. Can be called by multiple threads at once.
+	 */
+	protected void discardRemainingTasks()
+	{
+		int discarded = 0;
+
+		for (Queue<Task> queue : List.of(criticalSubmissions, submissions, backgroundSubmissions)) {
+			Task task;
+			while ((task = queue.poll()) != null) {
+				discardTask(task);
+				discarded++;
+			}
+		}
+
+		for (Worker worker : workers) {
+			Task task;
+			while ((task = worker.deque.steal()) != null) {
+				discardTask(task);
+				discarded++;
+			}
+		}
+
+		if (discarded > 0) {
+			log.debug("Discarded tasks on end", name, discarded);
+		}
+	}
+
+	/**
+	 * Ends this task group gracefully (terminates workers) allowing waiting for its workers to terminate. Workers drain
+	 * the tasks queued before, tasks enqueued racing the last worker exit are discarded.
+	 *
+	 * @return
+	 */
+	@Override
+	public TaskBarrier endGracefully()
+	{
+		assertion.assertFalse(ending, "ending == false");
+		assertion.assertFalse(ended, "ended == false");
+
+		log.trace("endGracefully:enter");
+
+		ending = true;
+
+		TaskBarrier terminationBarrier = new StandardTaskBarrier(workers.length);
+
+		for (Worker worker : workers) {
+			worker.terminate(terminationBarrier);
+		}
+
+		log.trace("endGracefully:exit");
+
+		return terminationBarrier;
+	}
+}
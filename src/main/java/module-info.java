@@ -40,6 +40,7 @@ module com.cmt.singularity
 	requires org.lwjgl.assimp;
 	requires org.lwjgl.openal;
 	requires org.joml;
+	requires jdk.jfr;
 
 	exports com.cmt.singularity;
 	exports com.cmt.singularity.assertion;
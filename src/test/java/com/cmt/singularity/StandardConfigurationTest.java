@@ -25,7 +25,11 @@
 //</editor-fold>
 package com.cmt.singularity;
 
+import com.cmt.singularity.assertion.Assert;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
 import org.testng.annotations.Test;
 
 /**
@@ -66,4 +70,108 @@ public class StandardConfigurationTest
 		assertEquals(configuration.getLong("testSimpleUsage.long", 2L), 1L);
 
 	}
+
+	@Test
+	public void testConversion()
+	{
+		Configuration configuration = Configuration.create("-testConversion.short=3", "-testConversion.bool");
+
+		// Strings from the command line are parsed
+		assertEquals(configuration.getShort("testConversion.short"), (short) 3);
+		assertEquals(configuration.getShort("testConversion.notSet", (short) 4), (short) 4);
+		assertEquals(configuration.getBoolean("testConversion.bool"), true);
+
+		// Numbers are converted into the requested type
+		configuration.set("testConversion.int", 5);
+		assertEquals(configuration.getLong("testConversion.int"), 5L);
+		assertEquals(configuration.getShort("testConversion.int"), (short) 5);
+		assertEquals(configuration.getDouble("testConversion.int"), 5.0);
+	}
+
+	@Test
+	public void testConfigKey()
+	{
+		ConfigKey<Integer> intKey = ConfigKey.ofInt("testConfigKey.int", 1);
+		ConfigKey<Boolean> booleanKey = ConfigKey.ofBoolean("testConfigKey.boolean", false);
+		ConfigKey<String> stringKey = ConfigKey.ofString("testConfigKey.string", null);
+
+		Configuration configuration = Configuration.create("-testConfigKey.boolean=true");
+
+		// Defaults and parsed strings
+		assertEquals(configuration.get(intKey), 1);
+		assertEquals(configuration.get(booleanKey), true);
+		assertEquals(configuration.get(stringKey), null);
+
+		configuration.set("testConfigKey.int", "42");
+		assertEquals(configuration.get(intKey), 42);
+
+		// The parsed value is cached by the snapshot
+		ConfigurationSnapshot snapshot = configuration.getSnapshot();
+		assertSame(snapshot.get(intKey), snapshot.get(intKey));
+	}
+
+	@Test
+	public void testSnapshot()
+	{
+		ConfigKey<Long> key = ConfigKey.ofLong("testSnapshot.long", 1L);
+
+		Configuration configuration = Configuration.create();
+
+		ConfigurationSnapshot snapshot = configuration.getSnapshot();
+		assertSame(configuration.getSnapshot(), snapshot);
+		assertEquals(snapshot.get(key), 1L);
+
+		// Changes create a new snapshot and do not affect the old one
+		configuration.set("testSnapshot.long", 2L);
+
+		ConfigurationSnapshot changed = configuration.getSnapshot();
+		assertNotSame(changed, snapshot);
+		assertEquals(changed.get(key), 2L);
+		assertEquals(snapshot.get(key), 1L);
+
+		// Keys created after the snapshot are read without caching
+		ConfigKey<Integer> later = ConfigKey.ofInt("testSnapshot.later", 3);
+		assertEquals(changed.get(later), 3);
+
+		// Setting an existing key if absent keeps the snapshot, inserting a new one replaces it
+		configuration.setIfAbsent("testSnapshot.long", 3L);
+		configuration.setFixedIfAbsent("testSnapshot.long", 4L);
+		assertSame(configuration.getSnapshot(), changed);
+
+		configuration.setIfAbsent("testSnapshot.absent", 5L);
+		assertNotSame(configuration.getSnapshot(), changed);
+		assertEquals(configuration.get("testSnapshot.absent"), 5L);
+	}
+
+	/**
+	 * Test if assertion keys are only accepted by init as modules resolve them once on class loading
+	 */
+	@Test
+	public void testAssertionKeysFixedAtInit()
+	{
+		String key = Assert.CONFIGURATION_ASSERT_ACTIVE_KEY + ".testAssertionKeysFixedAtInit";
+
+		try {
+			Configuration configuration = Configuration.create("-" + key + "=false");
+			assertEquals(configuration.getBoolean(key), false);
+
+			try {
+				configuration.set(key, true);
+				fail("set did not throw");
+			} catch (RuntimeException ex) {
+				// Expected
+			}
+
+			try {
+				configuration.setIfAbsent(key + ".Other", true);
+				fail("setIfAbsent did not throw");
+			} catch (RuntimeException ex) {
+				// Expected
+			}
+
+			assertEquals(configuration.getBoolean(key), false);
+		} finally {
+			System.clearProperty(key);
+		}
+	}
 }
@@ -0,0 +1,114 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.assertion;
+
+import com.cmt.singularity.Configuration;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class AssertTest
+{
+
+	/**
+	 * Test if the most specific key of a module or its packages decides
+	 */
+	@Test
+	public void testResolveActive()
+	{
+		String key = Assert.CONFIGURATION_ASSERT_ACTIVE_KEY + ".AssertTest.testResolveActive";
+
+		try {
+			System.setProperty(key, "false");
+			System.setProperty(key + ".Active", "true");
+
+			assertFalse(Assert.isActive("AssertTest.testResolveActive.Inactive"));
+			assertTrue(Assert.isActive("AssertTest.testResolveActive.Active"));
+			assertTrue(Assert.isActive("AssertTest.testResolveActive.Active.Nested"));
+			assertTrue(Assert.isActive("AssertTest.Other"));
+
+			assertTrue(Assert.getAssert("AssertTest.testResolveActive.Inactive") instanceof InactiveAssert);
+			assertTrue(Assert.getAssert("AssertTest.testResolveActive.Active") instanceof ActiveAssert);
+		} finally {
+			System.clearProperty(key);
+			System.clearProperty(key + ".Active");
+		}
+	}
+
+	/**
+	 * Test if assertion args given to the configuration reach the modules
+	 */
+	@Test
+	public void testConfigurationArgs()
+	{
+		String key = Assert.CONFIGURATION_ASSERT_ACTIVE_KEY + ".AssertTest.testConfigurationArgs";
+
+		try {
+			Configuration.create("-" + key + "=false");
+
+			assertFalse(Assert.getAssert("AssertTest.testConfigurationArgs").isActive());
+		} finally {
+			System.clearProperty(key);
+		}
+	}
+
+	/**
+	 * Test if inactive assertions do not throw
+	 */
+	@Test
+	public void testInactive()
+	{
+		Assert assertion = new InactiveAssert();
+
+		assertion.assertTrue(false, "inactive");
+		assertion.assertNotNull(null, "inactive");
+		assertion.assertEquals("a", "b", "inactive");
+	}
+
+	/**
+	 * Test if assertEquals for objects fails on different values only
+	 */
+	@Test
+	public void testAssertEqualsObject()
+	{
+		Assert assertion = new ActiveAssert();
+
+		assertion.assertEquals("a", "a", "a == a");
+		assertion.assertEquals(null, null, "null == null");
+
+		try {
+			assertion.assertEquals("a", "b", "a != b");
+			fail("assertEquals did not throw");
+		} catch (RuntimeException ex) {
+			// Expected
+		}
+	}
+}
@@ -0,0 +1,141 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import de.s42.log.LogManager;
+import de.s42.log.Logger;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class AdaptiveTaskBarrierTest
+{
+
+	private final static Logger log = LogManager.getLogger(AdaptiveTaskBarrierTest.class.getName());
+
+	protected final static int ROUNDS = 2000;
+
+	/**
+	 * Test if the configuration selects adaptive barriers for a single group
+	 */
+	@Test
+	public void testSelectByConfiguration()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_ADAPTIVE_BARRIERS_KEY + ".AdaptiveTaskBarrierTest.Adaptive", "true");
+
+		TaskGroup standard = new StandardTaskGroup(configuration, "AdaptiveTaskBarrierTest.Standard", 1, 10, true);
+		TaskGroup adaptive = new StandardTaskGroup(configuration, "AdaptiveTaskBarrierTest.Adaptive", 1, 10, true);
+
+		TaskBarrier standardBarrier = standard.parallelBefore(() -> {
+		});
+		TaskBarrier adaptiveBarrier = adaptive.parallelBefore(() -> {
+		});
+
+		assertFalse(standardBarrier instanceof AdaptiveTaskBarrier);
+		assertTrue(adaptiveBarrier instanceof AdaptiveTaskBarrier);
+
+		adaptiveBarrier.await();
+		assertTrue(adaptiveBarrier.isArrived());
+
+		standard.endGracefully().await();
+		adaptive.endGracefully().await();
+	}
+
+	/**
+	 * Test if the timed await holds the timeout while spinning, yielding and parking
+	 */
+	@Test
+	public void testAwaitTimeout()
+	{
+		AdaptiveTaskBarrier barrier = new AdaptiveTaskBarrier(1);
+
+		long start = System.nanoTime();
+		barrier.await(20, TimeUnit.MILLISECONDS);
+		long duration = System.nanoTime() - start;
+
+		assertFalse(barrier.isArrived());
+		assertTrue(duration >= TimeUnit.MILLISECONDS.toNanos(20), "Returned after " + duration + "ns");
+	}
+
+	/**
+	 * Measures the time from the final arrive() until the awaiting thread returns for the latch based and the adaptive
+	 * barrier. The medians are logged - the gain depends on the available cores.
+	 */
+	@Test
+	public void testWakeUpLatency() throws InterruptedException
+	{
+		long standard = measureWakeUpLatency(StandardTaskBarrier::new);
+		long adaptive = measureWakeUpLatency(AdaptiveTaskBarrier::new);
+
+		log.info("Median wake up latency standard", standard, "ns adaptive", adaptive, "ns");
+
+		assertTrue(standard > 0);
+		assertTrue(adaptive > 0);
+	}
+
+	protected long measureWakeUpLatency(IntFunction<TaskBarrier> factory) throws InterruptedException
+	{
+		long[] latencies = new long[ROUNDS];
+
+		for (int i = 0; i < ROUNDS; ++i) {
+
+			TaskBarrier barrier = factory.apply(1);
+			long[] arrived = new long[1];
+			int round = i;
+
+			Thread waiter = new Thread(() -> {
+				barrier.await();
+				// arrived[0] is published by the barrier
+				latencies[round] = System.nanoTime() - arrived[0];
+			});
+			waiter.start();
+
+			// Give the waiter the chance to enter await
+			while (waiter.getState() == Thread.State.NEW) {
+				Thread.onSpinWait();
+			}
+			Thread.yield();
+
+			arrived[0] = System.nanoTime();
+			barrier.arrive();
+
+			waiter.join();
+		}
+
+		Arrays.sort(latencies);
+
+		return Math.max(1, latencies[ROUNDS / 2]);
+	}
+}
@@ -0,0 +1,199 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class CancellationTokenTest
+{
+
+	/**
+	 * Blocks the single worker of the group until the returned latch is counted down
+	 */
+	protected static CountDownLatch block(TaskGroup group) throws InterruptedException
+	{
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		group.parallel(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		});
+
+		started.await();
+
+		return release;
+	}
+
+	/**
+	 * Test if queued tasks are skipped after cancel but still arrive at their barrier - exceptionally
+	 */
+	@Test
+	public void testCancelQueued() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "CancellationTokenTest.testCancelQueued", 1, 100, true);
+
+		CountDownLatch release = block(group);
+
+		AtomicInteger executed = new AtomicInteger();
+		CancellationToken cancellation = new StandardCancellationToken();
+
+		TaskBarrier barrier = group.parallelBefore(cancellation, executed::incrementAndGet, executed::incrementAndGet);
+		group.parallel(cancellation, executed::incrementAndGet, executed::incrementAndGet);
+
+		cancellation.cancel();
+		release.countDown();
+
+		try {
+			barrier.await(1, TimeUnit.SECONDS);
+			fail("Cancellation was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TaskCancelledException);
+		}
+		group.join();
+
+		assertTrue(barrier.isArrived());
+		assertTrue(barrier.getFailure() instanceof TaskCancelledException);
+		assertEquals(executed.get(), 0);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if tasks are skipped once their deadline passed
+	 */
+	@Test
+	public void testDeadline() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "CancellationTokenTest.testDeadline", 1, 100, true);
+
+		CountDownLatch release = block(group);
+
+		AtomicInteger executed = new AtomicInteger();
+		CancellationToken cancellation = new StandardCancellationToken(10, TimeUnit.MILLISECONDS);
+
+		group.parallel(cancellation, executed::incrementAndGet);
+
+		assertFalse(cancellation.isCancelled());
+
+		Thread.sleep(20);
+		release.countDown();
+		group.join();
+
+		assertTrue(cancellation.isCancelled());
+		assertEquals(executed.get(), 0);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if cancellation stops a sequential chain between steps and drops the dependent parallelAfter tasks
+	 */
+	@Test
+	public void testPropagation() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "CancellationTokenTest.testPropagation", 2, 100, true);
+
+		CancellationToken level = new StandardCancellationToken();
+		CancellationToken chunk = new StandardCancellationToken(level);
+
+		AtomicInteger executed = new AtomicInteger();
+
+		group.sequential(chunk, executed::incrementAndGet, level::cancel, executed::incrementAndGet, executed::incrementAndGet);
+		group.join();
+
+		assertTrue(chunk.isCancelled());
+		assertEquals(executed.get(), 1);
+
+		TaskBarrier before = group.parallelBefore(chunk, executed::incrementAndGet);
+		group.parallelAfter(before, chunk, executed::incrementAndGet);
+
+		try {
+			before.await(1, TimeUnit.SECONDS);
+			fail("Cancellation was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TaskCancelledException);
+		}
+		group.join();
+
+		assertTrue(before.isArrived());
+		assertEquals(executed.get(), 1);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if the future of a cancelled callable fails instead of blocking forever
+	 */
+	@Test
+	public void testCancelSubmit() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "CancellationTokenTest.testCancelSubmit", 1, 100, true);
+
+		CountDownLatch release = block(group);
+
+		CancellationToken cancellation = new StandardCancellationToken();
+
+		TaskFuture<Integer> future = group.submit(TaskPriority.FRAME, cancellation, () -> 42);
+		TaskFuture<Integer> next = future.thenOnGroup(group, (Integer value) -> value + 1);
+
+		cancellation.cancel();
+		release.countDown();
+
+		try {
+			next.get();
+			fail("Cancellation was not propagated");
+		} catch (TaskExecutionException ex) {
+			assertTrue(future.getFailure() instanceof TaskCancelledException);
+		}
+
+		group.endGracefully().await();
+	}
+}
@@ -0,0 +1,132 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class ParallelForTest
+{
+
+	/**
+	 * Test if all indices of a large array are processed exactly once in standard and work stealing groups
+	 */
+	@Test
+	public void testParallelFor()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup[] groups = new TaskGroup[]{
+			new StandardTaskGroup(configuration, "ParallelForTest.testParallelFor.Standard", 4, 100, true),
+			new WorkStealingTaskGroup(configuration, "ParallelForTest.testParallelFor.WorkStealing", 4, 100, true)
+		};
+
+		for (TaskGroup group : groups) {
+
+			float[] data = new float[1_000_003];
+
+			for (int i = 0; i < data.length; ++i) {
+				data[i] = i;
+			}
+
+			group.parallelFor(0, data.length, 1024, (from, to) -> {
+				for (int i = from; i < to; ++i) {
+					data[i] = data[i] * 2.0f + 1.0f;
+				}
+			}).await();
+
+			for (int i = 0; i < data.length; ++i) {
+				assertEquals(data[i], i * 2.0f + 1.0f);
+			}
+
+			group.endGracefully();
+		}
+	}
+
+	/**
+	 * Test if the partial results get combined into the correct result
+	 */
+	@Test
+	public void testParallelReduce()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "ParallelForTest.testParallelReduce", 4, 100, true);
+
+		int[] data = new int[100_000];
+
+		for (int i = 0; i < data.length; ++i) {
+			data[i] = i % 7;
+		}
+
+		long expected = 0;
+		for (int value : data) {
+			expected += value;
+		}
+
+		AtomicReference<Long> sum = new AtomicReference<>();
+
+		group.parallelReduce(0, data.length, 100, (from, to) -> {
+			long partial = 0;
+			for (int i = from; i < to; ++i) {
+				partial += data[i];
+			}
+			return partial;
+		}, Long::sum, sum::set).await();
+
+		assertEquals(sum.get().longValue(), expected);
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if an empty range arrives directly
+	 */
+	@Test
+	public void testEmptyRange()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "ParallelForTest.testEmptyRange", 1, 10, true);
+
+		AtomicReference<Long> sum = new AtomicReference<>(0L);
+
+		TaskBarrier done = group.parallelReduce(5, 5, (from, to) -> 1L, Long::sum, sum::set);
+
+		assertTrue(done.isArrived());
+		assertNull(sum.get());
+
+		group.endGracefully();
+	}
+}
@@ -0,0 +1,170 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class PhasedTaskBarrierTest
+{
+
+	/**
+	 * Test if a single barrier can be reused for many frames of tasks
+	 */
+	@Test
+	public void testReuseAcrossFrames()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "PhasedTaskBarrierTest.testReuseAcrossFrames", 4, 16, true);
+
+		int frames = 100;
+		int tasksPerFrame = 8;
+
+		PhasedTaskBarrier barrier = new PhasedTaskBarrier(tasksPerFrame);
+		AtomicInteger counter = new AtomicInteger();
+		AtomicInteger continuations = new AtomicInteger();
+
+		Task[] tasks = new Task[tasksPerFrame];
+		for (int i = 0; i < tasksPerFrame; ++i) {
+			tasks[i] = counter::incrementAndGet;
+		}
+
+		for (int frame = 0; frame < frames; ++frame) {
+
+			barrier.whenArrived(continuations::incrementAndGet);
+
+			assertSame(group.parallelBefore(barrier, tasks), barrier);
+
+			barrier.await();
+
+			assertTrue(barrier.isArrived());
+			assertEquals(counter.get(), (frame + 1) * tasksPerFrame);
+
+			barrier.reset();
+		}
+
+		assertEquals(continuations.get(), frames);
+		assertEquals(barrier.getGeneration(), frames);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if parties can be registered and deregistered between and within generations
+	 */
+	@Test
+	public void testDynamicParties()
+	{
+		PhasedTaskBarrier barrier = new PhasedTaskBarrier(1);
+
+		barrier.register(2);
+		assertEquals(barrier.getRegisteredParties(), 3);
+
+		barrier.arrive();
+		barrier.arrive();
+		assertFalse(barrier.isArrived());
+
+		// The last party leaves - arrives the generation and is gone for the next one
+		barrier.arriveAndDeregister();
+		assertTrue(barrier.isArrived());
+		assertEquals(barrier.getRegisteredParties(), 2);
+
+		barrier.reset();
+		assertFalse(barrier.isArrived());
+
+		barrier.arrive();
+		barrier.await(10, TimeUnit.MILLISECONDS);
+		assertFalse(barrier.isArrived());
+
+		barrier.arrive();
+		barrier.await();
+		assertTrue(barrier.isArrived());
+	}
+
+	/**
+	 * Test if a continuation registered while the continuations of the generation execute still fires in this
+	 * generation and not in the next one
+	 */
+	@Test
+	public void testWhenArrivedDuringAdvance()
+	{
+		PhasedTaskBarrier barrier = new PhasedTaskBarrier(1);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		barrier.whenArrived(() -> barrier.whenArrived(counter::incrementAndGet));
+
+		barrier.arrive();
+
+		assertTrue(barrier.isArrived());
+		assertEquals(counter.get(), 1);
+
+		// Nothing is left over for the next generation
+		barrier.reset();
+		barrier.arrive();
+		assertEquals(counter.get(), 1);
+	}
+
+	/**
+	 * Test if a final arrival which executes the continuations late does not execute the ones of the next generation
+	 */
+	@Test
+	public void testLateArrivalKeepsNextGeneration()
+	{
+		PhasedTaskBarrier barrier = new PhasedTaskBarrier(1);
+
+		AtomicInteger first = new AtomicInteger();
+		AtomicInteger second = new AtomicInteger();
+
+		barrier.whenArrived(first::incrementAndGet);
+
+		int phase = barrier.getGeneration();
+		barrier.arrive();
+		assertEquals(first.get(), 1);
+
+		barrier.reset();
+		barrier.whenArrived(second::incrementAndGet);
+
+		// The arriving thread of the first generation executes its continuations only now
+		barrier.advanced(phase);
+		assertEquals(second.get(), 0);
+
+		barrier.arrive();
+		assertEquals(second.get(), 1);
+		assertEquals(first.get(), 1);
+	}
+}
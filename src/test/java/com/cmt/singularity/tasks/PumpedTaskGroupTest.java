@@ -0,0 +1,293 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class PumpedTaskGroupTest
+{
+
+	/**
+	 * Test if tasks submitted from other threads are executed on the pumping thread only
+	 */
+	@Test
+	public void testExecutesOnPumpingThread() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		Tasks tasks = new StandardTasks(configuration);
+		PumpedTaskGroup main = tasks.createPumpedTaskGroup("PumpedTaskGroupTest.Main");
+		TaskGroup workers = tasks.createTaskGroup("PumpedTaskGroupTest.Workers", 4, 100, true);
+
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+
+		for (int i = 0; i < 20; ++i) {
+			workers.parallel(() -> main.parallel(() -> threads.add(Thread.currentThread())));
+		}
+
+		workers.join();
+
+		// Nothing runs without pumping
+		assertTrue(threads.isEmpty());
+
+		assertEquals(main.runPending(), 20);
+		assertEquals(threads.size(), 20);
+
+		for (Thread thread : threads) {
+			assertEquals(thread, Thread.currentThread());
+		}
+
+		tasks.endGracefully().await();
+
+		assertTrue(main.isEnded());
+	}
+
+	/**
+	 * Test if a pump stops after its budget and the rest is executed by the next pumps
+	 */
+	@Test
+	public void testBudget()
+	{
+		Configuration configuration = Configuration.create();
+
+		PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testBudget");
+
+		AtomicInteger executed = new AtomicInteger();
+
+		for (int i = 0; i < 10; ++i) {
+			group.parallel(() -> {
+				try {
+					Thread.sleep(2);
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+				executed.incrementAndGet();
+			});
+		}
+
+		int first = group.runPending(TimeUnit.MILLISECONDS.toNanos(5));
+
+		assertTrue(first >= 1 && first < 10, "first pump executed " + first);
+		assertEquals(executed.get(), first);
+
+		// At least 1 task per pump is executed even without budget
+		assertEquals(group.runPending(0), 1);
+
+		int rounds = 0;
+		while (executed.get() < 10) {
+			group.runPending(TimeUnit.MILLISECONDS.toNanos(5));
+			rounds++;
+		}
+
+		assertTrue(rounds > 0);
+		assertEquals(group.runPending(0), 0);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if critical tasks are executed before frame and background tasks
+	 */
+	@Test
+	public void testPriorities()
+	{
+		Configuration configuration = Configuration.create();
+
+		PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testPriorities");
+
+		List<TaskPriority> order = new CopyOnWriteArrayList<>();
+
+		group.parallel(TaskPriority.BACKGROUND, () -> order.add(TaskPriority.BACKGROUND));
+		group.parallel(TaskPriority.FRAME, () -> order.add(TaskPriority.FRAME));
+		group.parallel(TaskPriority.CRITICAL, () -> order.add(TaskPriority.CRITICAL));
+
+		group.runPending();
+
+		assertEquals(order, List.of(TaskPriority.CRITICAL, TaskPriority.FRAME, TaskPriority.BACKGROUND));
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if join on the owner thread pumps instead of waiting forever and joins from other threads wait for the owner
+	 */
+	@Test
+	public void testJoin() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testJoin");
+
+		// Bind the group to this thread
+		group.runPending();
+
+		AtomicInteger executed = new AtomicInteger();
+
+		// Tasks which queue further tasks are executed by the same join
+		group.sequential(executed::incrementAndGet, () -> group.parallel(executed::incrementAndGet));
+
+		Thread joiner = Thread.ofPlatform().start(() -> group.join());
+
+		joiner.join(50);
+		assertTrue(joiner.isAlive(), "Join on other thread has to wait for the owner");
+
+		group.join();
+
+		assertEquals(executed.get(), 2);
+
+		joiner.join(1000);
+		assertTrue(!joiner.isAlive());
+
+		assertTrue(group.join(10, TimeUnit.MILLISECONDS));
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if join on the owner keeps pumping tasks submitted from other threads meanwhile and returns once all are done
+	 */
+	@Test
+	public void testJoinWithConcurrentSubmits() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testJoinWithConcurrentSubmits");
+
+		group.runPending();
+
+		AtomicInteger executed = new AtomicInteger();
+		int count = 10000;
+
+		Thread submitter = Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < count; ++i) {
+				group.parallel(executed::incrementAndGet);
+			}
+		});
+
+		while (submitter.isAlive()) {
+			group.join();
+		}
+
+		group.join();
+
+		assertEquals(executed.get(), count);
+		assertTrue(group.join(0, TimeUnit.MILLISECONDS));
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if tasks submitted while the owner ends the group are either executed or discarded - never stranded
+	 */
+	@Test
+	public void testSubmitWhileEnding() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		for (int round = 0; round < 20; ++round) {
+
+			PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testSubmitWhileEnding");
+
+			group.runPending();
+
+			List<TaskBarrier> barriers = new ArrayList<>();
+			CountDownLatch submitting = new CountDownLatch(1);
+
+			Thread submitter = Thread.ofPlatform().start(() -> {
+				while (!group.isEnded()) {
+					barriers.add(group.parallelBefore(() -> {
+					}));
+					submitting.countDown();
+					if (barriers.size() >= 1024) {
+						barriers.removeIf(TaskBarrier::isArrived);
+					}
+				}
+				barriers.add(group.parallelBefore(() -> {
+				}));
+			});
+
+			assertTrue(submitting.await(5, TimeUnit.SECONDS));
+
+			group.endGracefully().await();
+
+			submitter.join(5000);
+			assertFalse(submitter.isAlive(), "Submitter did not stop");
+
+			assertTrue(group.join(5, TimeUnit.SECONDS), "Group has stranded tasks");
+
+			for (TaskBarrier barrier : barriers) {
+				assertTrue(barrier.isArrived(), "Group has a stranded barrier");
+			}
+		}
+	}
+
+	/**
+	 * Test if ending from another thread drains the remaining tasks on the owners next pump
+	 */
+	@Test
+	public void testEndFromOtherThread() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		PumpedTaskGroup group = new PumpedTaskGroup(configuration, "PumpedTaskGroupTest.testEndFromOtherThread");
+
+		group.runPending();
+
+		AtomicInteger executed = new AtomicInteger();
+
+		for (int i = 0; i < 5; ++i) {
+			group.parallel(executed::incrementAndGet);
+		}
+
+		TaskBarrier[] end = new TaskBarrier[1];
+		Thread ender = Thread.ofPlatform().start(() -> end[0] = group.endGracefully());
+		ender.join();
+
+		assertTrue(group.isEnding());
+		assertTrue(!end[0].isArrived());
+
+		// The budget is ignored once ending
+		assertEquals(group.runPending(0), 5);
+
+		assertTrue(end[0].isArrived());
+		assertTrue(group.isEnded());
+		assertEquals(executed.get(), 5);
+	}
+}
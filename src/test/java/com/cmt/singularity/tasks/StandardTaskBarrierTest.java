@@ -0,0 +1,145 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class StandardTaskBarrierTest
+{
+
+	/**
+	 * Test if continuations are executed exactly once on the final arrival and directly if already arrived
+	 */
+	@Test
+	public void testWhenArrived()
+	{
+		StandardTaskBarrier barrier = new StandardTaskBarrier(2);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		barrier.whenArrived(counter::incrementAndGet);
+		barrier.whenArrived(counter::incrementAndGet);
+
+		barrier.arrive();
+		assertFalse(barrier.isArrived());
+		assertEquals(counter.get(), 0);
+
+		barrier.arrive();
+		assertTrue(barrier.isArrived());
+		assertEquals(counter.get(), 2);
+
+		// Additional arrivals do not execute again
+		barrier.arrive();
+		assertEquals(counter.get(), 2);
+
+		// Registering after arrival executes directly
+		barrier.whenArrived(counter::incrementAndGet);
+		assertEquals(counter.get(), 3);
+	}
+
+	/**
+	 * Test if the grouped barrier executes the continuation after all grouped barriers arrived
+	 */
+	@Test
+	public void testGroupedWhenArrived()
+	{
+		StandardTaskBarrier barrier1 = new StandardTaskBarrier(1);
+		StandardTaskBarrier barrier2 = new StandardTaskBarrier(1);
+		GroupedTaskBarrier grouped = new GroupedTaskBarrier(barrier1, barrier2);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		grouped.whenArrived(counter::incrementAndGet);
+
+		barrier2.arrive();
+		assertEquals(counter.get(), 0);
+		assertFalse(grouped.isArrived());
+
+		barrier1.arrive();
+		assertEquals(counter.get(), 1);
+		assertTrue(grouped.isArrived());
+	}
+
+	/**
+	 * Test if a failing continuation neither escapes arrive() nor keeps the other continuations from executing
+	 */
+	@Test
+	public void testFailingContinuation()
+	{
+		StandardTaskBarrier barrier = new StandardTaskBarrier(1);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		barrier.whenArrived(counter::incrementAndGet);
+		barrier.whenArrived(() -> {
+			throw new IllegalStateException("Continuation failed on purpose");
+		});
+		barrier.whenArrived(counter::incrementAndGet);
+
+		barrier.arrive();
+
+		assertTrue(barrier.isArrived());
+		assertEquals(counter.get(), 2);
+	}
+
+	/**
+	 * Test if continuations are executed in registration order and see the failure arrived
+	 */
+	@Test
+	public void testContinuationOrderAndFailure()
+	{
+		StandardTaskBarrier barrier = new StandardTaskBarrier(2);
+
+		List<Integer> order = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+
+		for (int i = 0; i < 5; ++i) {
+			int index = i;
+			barrier.whenArrived(() -> {
+				order.add(index);
+				failures.add(barrier.getFailure());
+			});
+		}
+
+		IllegalStateException failure = new IllegalStateException("Failed on purpose");
+
+		barrier.arriveExceptionally(failure);
+		barrier.arrive();
+
+		assertEquals(order, List.of(0, 1, 2, 3, 4));
+		assertEquals(failures, List.of(failure, failure, failure, failure, failure));
+	}
+}
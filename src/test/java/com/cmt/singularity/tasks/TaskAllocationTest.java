@@ -0,0 +1,245 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskAllocationTest
+{
+
+	protected final static com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	protected final static int TASKS = 1 << 20;
+
+	protected final static int BATCH_SIZE = 256;
+
+	/**
+	 * Returns the bytes allocated by the calling thread and the workers of the group - other threads of the JVM are left
+	 * out as they allocate independent of the tasks
+	 *
+	 * @param group
+	 * @return
+	 */
+	protected static long getAllocatedBytes(StandardTaskGroup group)
+	{
+		long[] threadIds = new long[group.workers.length + 1];
+
+		threadIds[0] = Thread.currentThread().threadId();
+		for (int i = 0; i < group.workers.length; ++i) {
+			threadIds[i + 1] = group.workers[i].threadId();
+		}
+
+		long bytes = 0;
+
+		for (long threadBytes : threads.getThreadAllocatedBytes(threadIds)) {
+			if (threadBytes > 0) {
+				bytes += threadBytes;
+			}
+		}
+
+		return bytes;
+	}
+
+	protected static Task[] createBatch(Task task, int size)
+	{
+		Task[] batch = new Task[size];
+		Arrays.fill(batch, task);
+
+		return batch;
+	}
+
+	/**
+	 * Test if submitting and executing a million wrapped tasks allocates less than a wrapper per task
+	 */
+	@Test
+	public void testWrappedTasksDoNotAllocate()
+	{
+		Configuration configuration = Configuration.create();
+
+		StandardTaskGroup group = new StandardTaskGroup(configuration, "TaskAllocationTest.testWrappedTasksDoNotAllocate", 4, 1024, true);
+
+		AtomicInteger counter = new AtomicInteger();
+		Task[] batch = createBatch(counter::incrementAndGet, BATCH_SIZE);
+
+		// Warm up
+		TaskBarrier warmUp = new StandardTaskBarrier(TASKS);
+		for (int i = 0; i < TASKS; i += BATCH_SIZE) {
+			group.parallelBefore(warmUp, batch);
+			group.join();
+		}
+		warmUp.await(5, TimeUnit.SECONDS);
+
+		TaskBarrier barrier = new StandardTaskBarrier(TASKS);
+
+		long before = getAllocatedBytes(group);
+
+		for (int i = 0; i < TASKS; i += BATCH_SIZE) {
+			group.parallelBefore(barrier, batch);
+			group.join();
+		}
+		barrier.await(5, TimeUnit.SECONDS);
+
+		long bytes = getAllocatedBytes(group) - before;
+
+		assertEquals(counter.get(), 2 * TASKS);
+		// A wrapper takes more than 16 bytes, so staying below shows wrappers are reused
+		assertTrue(bytes < TASKS * 16L, "Allocated " + bytes + " bytes for " + TASKS + " tasks");
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if the steps of a sequential do not allocate - just the chain itself is created per submission
+	 */
+	@Test
+	public void testSequentialStepsDoNotAllocate()
+	{
+		Configuration configuration = Configuration.create();
+
+		StandardTaskGroup group = new StandardTaskGroup(configuration, "TaskAllocationTest.testSequentialStepsDoNotAllocate", 4, 1024, true);
+
+		AtomicInteger counter = new AtomicInteger();
+		Task[] chain = createBatch(counter::incrementAndGet, BATCH_SIZE);
+
+		// Warm up
+		for (int i = 0; i < TASKS; i += BATCH_SIZE) {
+			group.sequential(chain);
+			group.join();
+		}
+
+		long before = getAllocatedBytes(group);
+
+		for (int i = 0; i < TASKS; i += BATCH_SIZE) {
+			group.sequential(chain);
+			group.join();
+		}
+
+		long bytes = getAllocatedBytes(group) - before;
+
+		assertEquals(counter.get(), 2 * TASKS);
+		// A wrapper takes more than 16 bytes, so staying below shows wrappers are reused
+		assertTrue(bytes < TASKS * 16L, "Allocated " + bytes + " bytes for " + TASKS + " tasks");
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if all tasks run and arrive if more wrappers are in flight than pooled
+	 */
+	@Test
+	public void testExhaustedPool()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_WRAPPER_POOL_SIZE_KEY + ".TaskAllocationTest.testExhaustedPool", "2");
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskAllocationTest.testExhaustedPool", 2, 1024, true);
+
+		AtomicInteger counter = new AtomicInteger();
+		Task[] batch = createBatch(counter::incrementAndGet, 1000);
+
+		CancellationToken cancellation = new StandardCancellationToken();
+
+		group.parallelBefore(batch).await(5, TimeUnit.SECONDS);
+		group.parallelBefore(cancellation, batch).await(5, TimeUnit.SECONDS);
+
+		assertEquals(counter.get(), 2000);
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if wrappers of rejected tasks and of tasks dropped by an ended group are freed and arrive exceptionally
+	 */
+	@Test
+	public void testDroppedWrappersReleased()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY + ".TaskAllocationTest.testDroppedWrappersReleased", "REJECT");
+
+		StandardTaskGroup group = new StandardTaskGroup(configuration, "TaskAllocationTest.testDroppedWrappersReleased", 1, 1, true);
+
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+
+		// Blocks the worker, so the queue of size 1 overflows with the second task
+		group.parallel(() -> {
+			started.countDown();
+			awaitLatch(release);
+		});
+		awaitLatch(started);
+
+		TaskBarrier rejected = new StandardTaskBarrier(2);
+
+		try {
+			group.parallelBefore(rejected, () -> {
+			}, () -> {
+			});
+			fail("Task was not rejected");
+		} catch (TaskRejectedException ex) {
+			// Expected
+		}
+
+		release.countDown();
+		group.join();
+
+		assertTrue(rejected.getFailure() instanceof TaskRejectedException);
+
+		group.endGracefully().await();
+
+		TaskBarrier dropped = group.parallelBefore(() -> {
+		});
+
+		assertTrue(dropped.isArrived());
+		assertTrue(dropped.getFailure() instanceof TaskCancelledException);
+
+		for (AbstractTaskGroup.StandardTaskWrapperTask wrapper : group.wrappers) {
+			assertFalse(wrapper.used.get());
+		}
+	}
+
+	protected static void awaitLatch(CountDownLatch latch)
+	{
+		try {
+			latch.await();
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
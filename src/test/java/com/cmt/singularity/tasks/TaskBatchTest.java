@@ -0,0 +1,170 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskBatchTest
+{
+
+	protected static TaskGroup[] createGroups(String name, int poolSize, int queueSize)
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_CLASS_KEY + "." + name + ".RingBuffer", RingBufferTaskQueue.class);
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_SPINS_KEY, 0);
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_YIELDS_KEY, 0);
+
+		return new TaskGroup[]{
+			new StandardTaskGroup(configuration, name + ".Blocking", poolSize, queueSize, true),
+			new StandardTaskGroup(configuration, name + ".RingBuffer", poolSize, queueSize, true),
+			new WorkStealingTaskGroup(configuration, name + ".WorkStealing", poolSize, queueSize, true)
+		};
+	}
+
+	/**
+	 * Test if all tasks of a list and of an array range are executed
+	 */
+	@Test
+	public void testBatches()
+	{
+		for (TaskGroup group : createGroups("TaskBatchTest.testBatches", 4, 10000)) {
+
+			AtomicInteger counter = new AtomicInteger();
+
+			List<Task> tasks = new ArrayList<>();
+			for (int i = 0; i < 10000; ++i) {
+				tasks.add(counter::incrementAndGet);
+			}
+
+			group.parallel(tasks).join();
+
+			assertEquals(counter.get(), 10000, group.getName());
+
+			Task[] array = tasks.toArray(Task[]::new);
+
+			group.parallel(array, 100, 200).join();
+			group.parallel(array, 50, 50).join();
+
+			assertEquals(counter.get(), 10100, group.getName());
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if a batch wakes as many parked workers as it has tasks - the tasks can only finish if all run at the same
+	 * time
+	 */
+	@Test
+	public void testBatchWakesWorkers() throws InterruptedException
+	{
+		for (TaskGroup group : createGroups("TaskBatchTest.testBatchWakesWorkers", 4, 100)) {
+
+			// Let the workers park
+			Thread.sleep(20);
+
+			CountDownLatch all = new CountDownLatch(4);
+			AtomicInteger completed = new AtomicInteger();
+
+			Task task = () -> {
+				all.countDown();
+				try {
+					if (all.await(5, TimeUnit.SECONDS)) {
+						completed.incrementAndGet();
+					}
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			};
+
+			group.parallel(new Task[]{task, task, task, task}, 0, 4).join();
+
+			assertEquals(completed.get(), 4, group.getName());
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if the part of a batch not fitting into a full queue is rejected while the rest is executed
+	 */
+	@Test
+	public void testBatchOverflow() throws InterruptedException
+	{
+		TaskGroup[] groups = createGroups("TaskBatchTest.testBatchOverflow", 1, 8);
+
+		for (TaskGroup group : new TaskGroup[]{groups[0], groups[1]}) {
+
+			// Keep the single worker busy until released
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(1);
+			group.parallel(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+
+			AtomicInteger counter = new AtomicInteger();
+			Task[] tasks = new Task[20];
+			for (int i = 0; i < tasks.length; ++i) {
+				tasks[i] = counter::incrementAndGet;
+			}
+
+			try {
+				group.parallel(tasks, 0, tasks.length);
+				fail("Full queue did not reject");
+			} catch (TaskRejectedException ex) {
+				// expected
+			}
+
+			release.countDown();
+
+			assertTrue(group.join(5, TimeUnit.SECONDS), group.getName());
+			assertEquals(counter.get(), 8, group.getName());
+		}
+
+		for (TaskGroup group : groups) {
+			group.endGracefully().await();
+		}
+	}
+}
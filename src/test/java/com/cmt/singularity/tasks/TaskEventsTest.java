@@ -0,0 +1,173 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskEventsTest
+{
+
+	/**
+	 * Named task class to find in the events
+	 */
+	protected static class NoopTask implements Task
+	{
+
+		@Override
+		public void execute()
+		{
+			// Nothing to do
+		}
+	}
+
+	/**
+	 * Test if the events are off without a recording and emitted while recording
+	 */
+	@Test
+	public void testRecording() throws Exception
+	{
+		assertFalse(TaskExecutionEvent.isRecording());
+		assertFalse(TaskEnqueuedEvent.isRecording());
+
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskEventsTest.testRecording", 2, 100, true);
+
+		Path file = Files.createTempFile("TaskEventsTest", ".jfr");
+
+		try (Recording recording = new Recording()) {
+
+			recording.enable(TaskEnqueuedEvent.class);
+			recording.enable(TaskExecutionEvent.class);
+			recording.enable(TaskBarrierAwaitEvent.class);
+			recording.enable(TaskGroupJoinEvent.class);
+			recording.enable(WorkerParkEvent.class);
+			recording.start();
+
+			assertTrue(TaskExecutionEvent.isRecording());
+
+			TaskBarrier barrier = group.parallelBefore(new NoopTask(), new NoopTask());
+			barrier.await(5, TimeUnit.SECONDS);
+
+			// Let the workers park, the next task unparks one
+			Thread.sleep(50);
+
+			group.parallel(() -> {
+			});
+			group.join();
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		assertFalse(TaskExecutionEvent.isRecording());
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+
+		Map<String, List<RecordedEvent>> byName = events.stream()
+			.collect(Collectors.groupingBy((RecordedEvent event) -> event.getEventType().getName()));
+
+		assertEquals(byName.get("com.cmt.singularity.TaskEnqueued").size(), 3);
+		assertEquals(byName.get("com.cmt.singularity.TaskExecution").size(), 3);
+		assertTrue(byName.containsKey("com.cmt.singularity.TaskBarrierAwait"));
+		assertEquals(byName.get("com.cmt.singularity.TaskGroupJoin").size(), 1);
+		assertTrue(byName.containsKey("com.cmt.singularity.WorkerPark"));
+
+		RecordedEvent execution = byName.get("com.cmt.singularity.TaskExecution").get(0);
+		assertEquals(execution.getString("group"), "TaskEventsTest.testRecording");
+		assertTrue(execution.getThread().getJavaName().startsWith("TaskEventsTest.testRecording"));
+
+		// The wrapped tasks are recorded with their own class and not the one of the wrapper
+		assertEquals(countTaskClass(byName.get("com.cmt.singularity.TaskEnqueued"), NoopTask.class), 2L);
+		assertEquals(countTaskClass(byName.get("com.cmt.singularity.TaskExecution"), NoopTask.class), 2L);
+
+		assertTrue(byName.get("com.cmt.singularity.TaskGroupJoin").get(0).getBoolean("joined"));
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if the work stealing group records the executions as well
+	 */
+	@Test
+	public void testWorkStealingRecording() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "TaskEventsTest.testWorkStealingRecording", 2, 100, true);
+
+		Path file = Files.createTempFile("TaskEventsTest", ".jfr");
+
+		try (Recording recording = new Recording()) {
+
+			recording.enable(TaskEnqueuedEvent.class);
+			recording.enable(TaskExecutionEvent.class);
+			recording.start();
+
+			group.parallelBefore(new NoopTask(), new NoopTask(), new NoopTask()).await(5, TimeUnit.SECONDS);
+			group.join();
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		Files.delete(file);
+
+		Map<String, List<RecordedEvent>> byName = events.stream()
+			.collect(Collectors.groupingBy((RecordedEvent event) -> event.getEventType().getName()));
+
+		assertEquals(countTaskClass(byName.get("com.cmt.singularity.TaskEnqueued"), NoopTask.class), 3L);
+		assertEquals(countTaskClass(byName.get("com.cmt.singularity.TaskExecution"), NoopTask.class), 3L);
+
+		group.endGracefully().await();
+	}
+
+	protected static long countTaskClass(List<RecordedEvent> events, Class<?> taskClass)
+	{
+		return events.stream()
+			.filter((RecordedEvent event) -> event.getClass("taskClass").getName().equals(taskClass.getName()))
+			.count();
+	}
+}
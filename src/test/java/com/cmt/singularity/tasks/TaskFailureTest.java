@@ -0,0 +1,286 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskFailureTest
+{
+
+	/**
+	 * Test if a failing task arrives its barrier exceptionally instead of leaving it un-arrived
+	 */
+	@Test
+	public void testBarrierFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFailureTest.testBarrierFailure", 2, 10, true);
+
+		IllegalStateException failure = new IllegalStateException("Failure");
+		AtomicInteger executed = new AtomicInteger();
+
+		TaskBarrier barrier = group.parallelBefore(executed::incrementAndGet, () -> {
+			throw failure;
+		}, executed::incrementAndGet);
+
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertSame(ex.getCause(), failure);
+		}
+
+		assertTrue(barrier.isArrived());
+		assertSame(barrier.getFailure(), failure);
+		assertEquals(executed.get(), 2);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if the failure handler of a group gets the escaped failures of all group types
+	 */
+	@Test
+	public void testFailureHandler()
+	{
+		Configuration configuration = Configuration.create();
+
+		List<TaskGroup> groups = List.of(
+			new StandardTaskGroup(configuration, "TaskFailureTest.Standard", 2, 10, true),
+			new WorkStealingTaskGroup(configuration, "TaskFailureTest.WorkStealing", 2, 10, true),
+			new VirtualThreadTaskGroup(configuration, "TaskFailureTest.VirtualThread", 2, 10, true)
+		);
+
+		for (TaskGroup group : groups) {
+
+			assertTrue(group.getFailureHandler() instanceof LoggingTaskFailureHandler);
+
+			List<Throwable> failures = new CopyOnWriteArrayList<>();
+			List<Task> failedTasks = new CopyOnWriteArrayList<>();
+			AtomicBoolean handlerGroup = new AtomicBoolean();
+
+			group.setFailureHandler((TaskGroup failed, Task task, Throwable failure) -> {
+				handlerGroup.set(failed == group);
+				failures.add(failure);
+				failedTasks.add(task);
+				throw new IllegalStateException("Failing handler must not kill the worker");
+			});
+
+			Task failing = () -> {
+				throw new IllegalArgumentException("Failure");
+			};
+
+			group.parallel(failing);
+			group.join();
+
+			// Wrapped tasks are reported as the task itself and not as its wrapper
+			try {
+				group.parallelBefore(failing).await();
+				fail("await did not throw");
+			} catch (TaskExecutionException ex) {
+				// Expected
+			}
+			group.join();
+
+			assertEquals(failures.size(), 2, group.getName());
+			assertTrue(failures.get(0) instanceof IllegalArgumentException);
+			assertTrue(handlerGroup.get());
+			assertEquals(failedTasks, List.of(failing, failing), group.getName());
+
+			// The worker survived
+			AtomicBoolean executed = new AtomicBoolean();
+			group.parallel(() -> executed.set(true));
+			group.join();
+			assertTrue(executed.get(), group.getName());
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if a failing body of parallelFor arrives its barrier exceptionally and skips the result
+	 */
+	@Test
+	public void testParallelForFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFailureTest.testParallelForFailure", 4, 100, true);
+
+		AtomicBoolean resultCalled = new AtomicBoolean();
+
+		TaskBarrier barrier = group.parallelReduce(0, 10000, 10, (int from, int to) -> {
+			if (from <= 5000 && 5000 < to) {
+				throw new IllegalStateException("Failure at 5000");
+			}
+			return to - from;
+		}, Integer::sum, (Integer sum) -> resultCalled.set(true));
+
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+
+		assertTrue(barrier.isArrived());
+		assertFalse(resultCalled.get());
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if a failing combiner arrives the barrier of parallelReduce exceptionally and reaches the failure handler
+	 */
+	@Test
+	public void testParallelReduceCombinerFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFailureTest.testParallelReduceCombinerFailure", 4, 100, true);
+
+		AtomicInteger handled = new AtomicInteger();
+		group.setFailureHandler((TaskGroup failed, Task task, Throwable failure) -> handled.incrementAndGet());
+
+		AtomicBoolean resultCalled = new AtomicBoolean();
+
+		// Every part yields a result, so the combiner runs at least once while finishing the parts
+		TaskBarrier barrier = group.parallelReduce(0, 10000, 10, (int from, int to) -> to - from, (Integer a, Integer b) -> {
+			throw new IllegalStateException("Combiner failed");
+		}, (Integer sum) -> resultCalled.set(true));
+
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+
+		assertTrue(barrier.isArrived());
+		assertFalse(resultCalled.get());
+		assertTrue(handled.get() > 0);
+
+		// A failing result consumer is reported the same way
+		barrier = group.parallelReduce(0, 100, 10, (int from, int to) -> to - from, Integer::sum, (Integer sum) -> {
+			throw new IllegalStateException("Result failed");
+		});
+
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertEquals(ex.getCause().getMessage(), "Result failed");
+		}
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if a failing node skips the remaining nodes of the graph and plan but still arrives
+	 */
+	@Test
+	public void testGraphFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFailureTest.testGraphFailure", 2, 10, true);
+
+		AtomicInteger executed = new AtomicInteger();
+		AtomicBoolean fail = new AtomicBoolean(true);
+
+		TaskGraph graph = new TaskGraph();
+		TaskGraph.Node a = graph.add(() -> {
+			if (fail.get()) {
+				throw new IllegalStateException("Failure");
+			}
+			executed.incrementAndGet();
+		});
+		graph.add(executed::incrementAndGet, a);
+
+		try {
+			graph.submit(group).await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof IllegalStateException);
+		}
+
+		assertEquals(executed.get(), 0);
+
+		TaskPlan plan = graph.compile();
+
+		TaskBarrier done = plan.execute(group);
+		try {
+			done.await(5, TimeUnit.SECONDS);
+			fail("Failure was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(done.isArrived());
+		}
+
+		// The next execution of the plan starts without failure
+		fail.set(false);
+		plan.execute(group).await(5, TimeUnit.SECONDS);
+
+		assertEquals(executed.get(), 2);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if an interrupt while awaiting is reported and the interrupt flag is kept
+	 */
+	@Test
+	public void testInterrupt()
+	{
+		TaskBarrier barrier = new StandardTaskBarrier(1);
+
+		Thread.currentThread().interrupt();
+
+		try {
+			barrier.await();
+			fail("Interrupt was not reported");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof InterruptedException);
+		}
+
+		assertTrue(Thread.interrupted());
+	}
+}
@@ -0,0 +1,201 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskFutureTest
+{
+
+	/**
+	 * Test if the result of a submitted callable is returned by the future
+	 */
+	@Test
+	public void testSubmit()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFutureTest.testSubmit", 2, 10, true);
+
+		TaskFuture<Integer> future = group.submit(() -> 6 * 7);
+
+		assertEquals(future.get(), 42);
+		assertTrue(future.isArrived());
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if results flow from one group into another and can be grouped into a barrier
+	 */
+	@Test
+	public void testThenOnGroup()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup first = new StandardTaskGroup(configuration, "TaskFutureTest.First", 2, 10, true);
+		TaskGroup second = new WorkStealingTaskGroup(configuration, "TaskFutureTest.Second", 2, 10, true);
+
+		TaskFuture<String> text = first.submit(() -> "singularity");
+		TaskFuture<Integer> length = text.thenOnGroup(second, String::length);
+		TaskFuture<String> upper = text.thenOnGroup(second, String::toUpperCase);
+
+		new GroupedTaskBarrier(length, upper).await();
+
+		assertEquals(length.get(), 11);
+		assertEquals(upper.get(), "SINGULARITY");
+
+		first.endGracefully().await();
+		second.endGracefully().await();
+	}
+
+	/**
+	 * Test if a failure is propagated through the futures instead of being lost in the worker
+	 */
+	@Test
+	public void testFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskFutureTest.testFailure", 2, 10, true);
+
+		IllegalStateException failure = new IllegalStateException("Failure");
+		AtomicBoolean executed = new AtomicBoolean();
+
+		TaskFuture<Integer> future = group.submit(() -> {
+			throw failure;
+		});
+		TaskFuture<Integer> next = future.thenOnGroup(group, (Integer value) -> {
+			executed.set(true);
+			return value;
+		});
+
+		try {
+			next.get();
+			fail("Failure was not propagated");
+		} catch (TaskExecutionException ex) {
+			assertSame(ex.getCause(), failure);
+		}
+
+		assertSame(future.getFailure(), failure);
+		assertFalse(executed.get());
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if a continuation which can not be submitted fails its future instead of leaving it incomplete
+	 */
+	@Test
+	public void testThenOnUnavailableGroup() throws InterruptedException
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY + ".TaskFutureTest.Full", "REJECT");
+
+		TaskGroup ended = new StandardTaskGroup(configuration, "TaskFutureTest.Ended", 1, 10, true);
+		ended.endGracefully().await();
+
+		StandardTaskFuture<String> source = new StandardTaskFuture<>();
+		TaskFuture<Integer> dropped = source.thenOnGroup(ended, String::length);
+
+		// A single worker blocked by one task and a queue holding one more
+		TaskGroup full = new StandardTaskGroup(configuration, "TaskFutureTest.Full", 1, 1, true);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		full.parallel(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		full.parallel(() -> {
+		});
+
+		TaskFuture<Integer> rejected = source.thenOnGroup(full, String::length);
+
+		source.complete("singularity");
+
+		try {
+			dropped.get(5, TimeUnit.SECONDS);
+			fail("Dropped continuation did not fail");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TaskCancelledException);
+		}
+
+		try {
+			rejected.get(5, TimeUnit.SECONDS);
+			fail("Rejected continuation did not fail");
+		} catch (TaskExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TaskRejectedException);
+		}
+
+		release.countDown();
+		full.endGracefully().await();
+	}
+
+	/**
+	 * Test if completing a future twice fails and keeps the first result
+	 */
+	@Test
+	public void testCompleteTwice()
+	{
+		StandardTaskFuture<String> future = new StandardTaskFuture<>();
+
+		future.complete("first");
+
+		try {
+			future.complete("second");
+			fail("Second completion was accepted");
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getMessage().contains("completed already"));
+		}
+
+		try {
+			future.completeExceptionally(new IllegalStateException("Failure"));
+			fail("Second completion was accepted");
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getMessage().contains("completed already"));
+		}
+
+		assertEquals(future.get(), "first");
+	}
+}
@@ -0,0 +1,234 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGraphTest
+{
+
+	/**
+	 * Test if nodes of a diamond are executed after their predecessors - repeated as done per frame
+	 */
+	@Test
+	public void testDiamondOrder()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskGraphTest.testDiamondOrder", 4, 100, true);
+
+		AtomicInteger clock = new AtomicInteger();
+		AtomicIntegerArray finished = new AtomicIntegerArray(4);
+
+		TaskGraph graph = new TaskGraph();
+
+		TaskGraph.Node a = graph.add(() -> finished.set(0, clock.incrementAndGet()));
+		TaskGraph.Node b = graph.add(() -> finished.set(1, clock.incrementAndGet()), a);
+		TaskGraph.Node c = graph.add(() -> finished.set(2, clock.incrementAndGet()), a);
+		graph.add(() -> finished.set(3, clock.incrementAndGet()), b, c);
+
+		for (int frame = 0; frame < 100; ++frame) {
+
+			graph.submit(group).await(5, TimeUnit.SECONDS);
+
+			assertTrue(finished.get(0) < finished.get(1));
+			assertTrue(finished.get(0) < finished.get(2));
+			assertTrue(finished.get(1) < finished.get(3));
+			assertTrue(finished.get(2) < finished.get(3));
+		}
+
+		assertEquals(clock.get(), 400);
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if the critical path is calculated by cost and roots are ordered by it
+	 */
+	@Test
+	public void testCriticalPath()
+	{
+		TaskGraph graph = new TaskGraph();
+
+		TaskGraph.Node shortRoot = graph.add(() -> {
+		}, 1);
+		TaskGraph.Node longRoot = graph.add(() -> {
+		}, 2);
+		TaskGraph.Node heavy = graph.add(() -> {
+		}, 10, longRoot);
+		graph.add(() -> {
+		}, 1, shortRoot, heavy);
+
+		graph.validate();
+
+		assertEquals(graph.getCriticalPath(), 13L);
+		assertEquals(longRoot.getCriticalPath(), 13L);
+		assertEquals(shortRoot.getCriticalPath(), 2L);
+		assertEquals(graph.roots[0], longRoot);
+	}
+
+	/**
+	 * Test if cycles are detected on validation
+	 */
+	@Test
+	public void testCycleDetection()
+	{
+		TaskGraph graph = new TaskGraph();
+
+		TaskGraph.Node a = graph.add(() -> {
+		});
+		TaskGraph.Node b = graph.add(() -> {
+		}, a);
+		TaskGraph.Node c = graph.add(() -> {
+		}, b);
+		a.after(c);
+
+		try {
+			graph.validate();
+			fail("Cycle not detected");
+		} catch (RuntimeException ex) {
+			assertTrue(ex.getMessage().contains("cycle"));
+		}
+	}
+
+	/**
+	 * Test if ready successors and roots run by descending critical path - in a standard group taking tasks first in
+	 * first out as well as on a work stealing worker popping its own submissions last in first out
+	 */
+	@Test
+	public void testSuccessorsByCriticalPath()
+	{
+		Configuration configuration = Configuration.create();
+
+		for (TaskGroup group : new TaskGroup[]{
+			new StandardTaskGroup(configuration, "TaskGraphTest.testSuccessorsByCriticalPath.Standard", 1, 100, true),
+			new WorkStealingTaskGroup(configuration, "TaskGraphTest.testSuccessorsByCriticalPath.WorkStealing", 1, 100, true)
+		}) {
+
+			StringBuffer order = new StringBuffer();
+
+			TaskGraph successors = new TaskGraph();
+
+			TaskGraph.Node root = successors.add(() -> order.append("r"));
+			successors.add(() -> order.append("3"), 3, root);
+			successors.add(() -> order.append("1"), 1, root);
+			successors.add(() -> order.append("5"), 5, root);
+			successors.add(() -> order.append("2"), 2, root);
+
+			successors.submit(group).await(5, TimeUnit.SECONDS);
+			successors.compile().execute(group).await(5, TimeUnit.SECONDS);
+
+			assertEquals(order.toString(), "r5321r5321", group.getName());
+
+			order.setLength(0);
+
+			// Block the worker, so all roots are queued before the first one runs
+			CountDownLatch release = new CountDownLatch(1);
+
+			TaskGraph roots = new TaskGraph();
+
+			roots.add(() -> order.append("3"), 3);
+			roots.add(() -> order.append("1"), 1);
+			roots.add(() -> order.append("5"), 5);
+			roots.add(() -> order.append("2"), 2);
+
+			TaskPlan plan = roots.compile();
+
+			for (int i = 0; i < 2; ++i) {
+
+				group.parallel(() -> {
+					try {
+						release.await();
+					} catch (InterruptedException ex) {
+						throw new RuntimeException(ex);
+					}
+				});
+
+				TaskBarrier done = (i == 0) ? roots.submit(group) : plan.execute(group);
+
+				release.countDown();
+				done.await(5, TimeUnit.SECONDS);
+			}
+
+			assertEquals(order.toString(), "53215321", group.getName());
+
+			group.endGracefully();
+		}
+	}
+
+	/**
+	 * Test if a failing node is reported to the failure handler of the group and its successors are skipped
+	 */
+	@Test
+	public void testFailureReachesHandler()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskGraphTest.testFailureReachesHandler", 2, 100, true);
+
+		List<Task> failedTasks = new CopyOnWriteArrayList<>();
+		group.setFailureHandler((TaskGroup failed, Task task, Throwable failure) -> {
+			failedTasks.add(task);
+		});
+
+		AtomicInteger executed = new AtomicInteger();
+
+		Task failing = () -> {
+			throw new IllegalStateException("Node failed on purpose");
+		};
+
+		TaskGraph graph = new TaskGraph();
+		graph.add(executed::incrementAndGet, graph.add(failing));
+
+		for (TaskBarrier done : List.of(graph.submit(group), graph.compile().execute(group))) {
+			try {
+				done.await(5, TimeUnit.SECONDS);
+				fail("Failure was not reported by the barrier");
+			} catch (TaskExecutionException ex) {
+				assertTrue(ex.getCause() instanceof IllegalStateException);
+			}
+		}
+
+		assertEquals(failedTasks, List.of(failing, failing));
+		assertEquals(executed.get(), 0);
+
+		group.endGracefully();
+	}
+}
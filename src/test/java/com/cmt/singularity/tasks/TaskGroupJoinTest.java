@@ -0,0 +1,208 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGroupJoinTest
+{
+
+	protected static TaskGroup[] createGroups(Configuration configuration, String name)
+	{
+		return new TaskGroup[]{
+			new StandardTaskGroup(configuration, name + ".Standard", 2, 10000, true),
+			new WorkStealingTaskGroup(configuration, name + ".WorkStealing", 2, 10000, true),
+			new VirtualThreadTaskGroup(configuration, name + ".VirtualThread", 2, 10000, true)
+		};
+	}
+
+	/**
+	 * Test if the timed join returns false while a task is running and true once it is done
+	 */
+	@Test
+	public void testTimedJoin() throws InterruptedException
+	{
+		Configuration configuration = Configuration.create();
+
+		for (TaskGroup group : createGroups(configuration, "TaskGroupJoinTest.testTimedJoin")) {
+
+			CountDownLatch release = new CountDownLatch(1);
+
+			group.parallel(() -> {
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+
+			long start = System.nanoTime();
+			assertFalse(group.join(20, TimeUnit.MILLISECONDS), group.getName());
+			assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20), group.getName());
+
+			release.countDown();
+
+			assertTrue(group.join(5, TimeUnit.SECONDS), group.getName());
+
+			// Quiescent groups return right away
+			assertTrue(group.join(0, TimeUnit.MILLISECONDS), group.getName());
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if joining a group with many small tasks on multiple threads returns for all joiners
+	 */
+	@Test
+	public void testConcurrentJoins() throws InterruptedException
+	{
+		Configuration configuration = Configuration.create();
+
+		for (TaskGroup group : createGroups(configuration, "TaskGroupJoinTest.testConcurrentJoins")) {
+
+			AtomicInteger counter = new AtomicInteger();
+			int count = 10000;
+
+			for (int i = 0; i < count; ++i) {
+				group.parallel(counter::incrementAndGet);
+			}
+
+			Thread[] joiners = new Thread[4];
+			for (int i = 0; i < joiners.length; ++i) {
+				joiners[i] = new Thread(group::join);
+				joiners[i].start();
+			}
+
+			for (Thread joiner : joiners) {
+				joiner.join(5000);
+				assertFalse(joiner.isAlive(), group.getName());
+			}
+
+			assertEquals(counter.get(), count, group.getName());
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if join returns after ending a standard group right after queueing tasks - they are still executed
+	 */
+	@Test
+	public void testJoinAfterEnd()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskGroupJoinTest.testJoinAfterEnd", 2, 100, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		for (int i = 0; i < 50; ++i) {
+			group.parallel(counter::incrementAndGet);
+		}
+
+		TaskBarrier ended = group.endGracefully();
+
+		assertTrue(group.join(5, TimeUnit.SECONDS));
+		assertEquals(counter.get(), 50);
+
+		ended.await();
+		assertTrue(group.isEnded());
+	}
+
+	/**
+	 * Test if tasks submitted while a group is ending are either executed or discarded - never stranded and never
+	 * started after the group reported its termination
+	 */
+	@Test
+	public void testSubmitWhileEnding() throws InterruptedException
+	{
+		Configuration configuration = Configuration.create();
+
+		for (int round = 0; round < 20; ++round) {
+
+			for (TaskGroup group : new TaskGroup[]{
+				new StandardTaskGroup(configuration, "TaskGroupJoinTest.testSubmitWhileEnding.Standard", 2, 100000, true),
+				new WorkStealingTaskGroup(configuration, "TaskGroupJoinTest.testSubmitWhileEnding.WorkStealing", 2, 100000, true),
+				new VirtualThreadTaskGroup(configuration, "TaskGroupJoinTest.testSubmitWhileEnding.VirtualThread", 2, 100000, true)
+			}) {
+
+				List<TaskBarrier> barriers = new ArrayList<>();
+				CountDownLatch submitting = new CountDownLatch(1);
+				AtomicBoolean terminated = new AtomicBoolean();
+				AtomicInteger lateTasks = new AtomicInteger();
+
+				Thread submitter = Thread.ofPlatform().start(() -> {
+					while (!group.isEnded()) {
+						barriers.add(group.parallelBefore(() -> {
+							if (terminated.get()) {
+								lateTasks.incrementAndGet();
+							}
+						}));
+						submitting.countDown();
+						// Only the barriers of tasks in flight are of interest
+						if (barriers.size() >= 1024) {
+							barriers.removeIf(TaskBarrier::isArrived);
+						}
+					}
+					// One more once the group is ended for sure
+					barriers.add(group.parallelBefore(() -> {
+					}));
+				});
+
+				assertTrue(submitting.await(5, TimeUnit.SECONDS), group.getName());
+
+				group.endGracefully().await();
+				terminated.set(true);
+
+				submitter.join(5000);
+				assertFalse(submitter.isAlive(), group.getName() + " submitter did not stop");
+
+				assertTrue(group.join(5, TimeUnit.SECONDS), group.getName() + " has stranded tasks");
+
+				for (TaskBarrier barrier : barriers) {
+					assertTrue(barrier.isArrived(), group.getName() + " has a stranded barrier");
+				}
+
+				assertEquals(lateTasks.get(), 0, group.getName() + " started tasks after its termination");
+			}
+		}
+	}
+}
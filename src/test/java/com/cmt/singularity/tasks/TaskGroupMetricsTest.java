@@ -0,0 +1,236 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskGroupMetricsTest
+{
+
+	/**
+	 * Test if percentiles are reported within the bucket precision of 12.5%
+	 */
+	@Test
+	public void testHistogram()
+	{
+		TaskTimeHistogram histogram = new TaskTimeHistogram();
+
+		assertEquals(histogram.getValueAtPercentile(50.0), 0L);
+
+		for (long value = 1; value <= 100000; ++value) {
+			histogram.record(value);
+		}
+
+		assertEquals(histogram.getCount(), 100000L);
+		assertEquals(histogram.getMax(), 100000L);
+		assertEquals(histogram.getMean(), 50000.5, 0.001);
+
+		for (double percentile : new double[]{1.0, 50.0, 90.0, 99.0, 99.9}) {
+
+			long expected = (long) (100000 * percentile / 100.0);
+			long value = histogram.getValueAtPercentile(percentile);
+
+			assertTrue(value >= expected && value <= expected * 1.125, percentile + "% = " + value);
+		}
+
+		assertEquals(histogram.getValueAtPercentile(100.0), 100000L);
+
+		// Small values are exact
+		TaskTimeHistogram small = new TaskTimeHistogram();
+		small.record(3);
+		small.record(-5);
+		assertEquals(small.getValueAtPercentile(100.0), 3L);
+		assertEquals(small.getValueAtPercentile(50.0), 0L);
+	}
+
+	/**
+	 * Test if the counters and timings of a group add up
+	 */
+	@Test
+	public void testCounters()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_KEY + ".TaskGroupMetricsTest.All", 1);
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY, "REJECT");
+
+		Tasks tasks = new StandardTasks(configuration);
+		TaskGroup group = tasks.createTaskGroup("TaskGroupMetricsTest.All", 2, 1000, true);
+		group.setFailureHandler((TaskGroup failed, Task task, Throwable failure) -> {
+		});
+
+		for (int i = 0; i < 100; ++i) {
+			group.parallel(() -> {
+			});
+			if (i % 10 == 9) {
+				group.join();
+			}
+		}
+		group.parallel(new Task[]{() -> {
+		}, () -> {
+		}}, 0, 2);
+		group.parallel(() -> {
+			throw new IllegalStateException("Failure");
+		});
+		group.join();
+
+		// Sampled tasks carry the time they were enqueued whether they are wrapped for a barrier or not
+		group.parallelBefore(() -> {
+		}, () -> {
+		}).await(5, TimeUnit.SECONDS);
+		group.join();
+
+		TaskGroupMetrics metrics = group.getMetrics();
+
+		assertEquals(metrics.getSubmitted(), 105L);
+		assertEquals(metrics.getExecuted(), 105L);
+		assertEquals(metrics.getFailed(), 1L);
+		assertEquals(metrics.getQueueDepth(), 0L);
+		assertEquals(metrics.getWaitTime().getCount(), 105L);
+		assertEquals(metrics.getRunTime().getCount(), 105L);
+
+		Map<String, TaskGroupMetrics> all = tasks.getMetrics();
+		assertEquals(all.get("TaskGroupMetricsTest.All"), metrics);
+
+		tasks.endGracefully().await();
+	}
+
+	/**
+	 * Test if plain tasks submitted with the default settings fill the wait time
+	 */
+	@Test
+	public void testWaitTimeOfPlainTasks()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskGroupMetricsTest.testWaitTimeOfPlainTasks", 2, 1000, true);
+
+		AtomicInteger counter = new AtomicInteger();
+		Task[] batch = new Task[100];
+		Arrays.fill(batch, (Task) counter::incrementAndGet);
+
+		for (int i = 0; i < 100; ++i) {
+			group.parallel(counter::incrementAndGet);
+			group.parallel(batch);
+			group.join();
+		}
+
+		assertEquals(counter.get(), 100 * 101);
+
+		TaskGroupMetrics metrics = group.getMetrics();
+
+		// 1 of 64 tasks is sampled by default - 10100 tasks make an empty histogram practically impossible
+		assertTrue(metrics.getWaitTime().getCount() > 0L);
+		assertTrue(metrics.getWaitTime().getCount() < 10100L);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if rejected tasks are counted and timing is off for sampling 0
+	 */
+	@Test
+	public void testRejected() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_METRICS_SAMPLING_KEY, 0);
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskGroupMetricsTest.testRejected", 1, 1, true);
+
+		TaskBarrier release = new StandardTaskBarrier(1);
+		TaskBarrier started = new StandardTaskBarrier(1);
+
+		group.parallel(() -> {
+			started.arrive();
+			release.await();
+		});
+		started.await(5, TimeUnit.SECONDS);
+
+		group.parallel(() -> {
+		});
+
+		try {
+			group.parallel(() -> {
+			});
+			fail("Task was not rejected");
+		} catch (TaskRejectedException ex) {
+			// Expected
+		}
+
+		TaskGroupMetrics metrics = group.getMetrics();
+
+		assertEquals(metrics.getRejected(), 1L);
+		assertEquals(metrics.getQueueDepth(), 1L);
+
+		release.arrive();
+		group.join();
+
+		assertEquals(metrics.getExecuted(), 2L);
+		assertEquals(metrics.getRunTime().getCount(), 0L);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if stealing between workers is counted
+	 */
+	@Test
+	public void testStolen()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "TaskGroupMetricsTest.testStolen", 4, 100, true);
+
+		// The forked tasks land in the deque of the forking worker - the others have to steal them
+		group.parallel(() -> {
+			for (int i = 0; i < 200; ++i) {
+				group.parallel(() -> {
+					long end = System.nanoTime() + 50_000;
+					while (System.nanoTime() < end) {
+						Thread.onSpinWait();
+					}
+				});
+			}
+		});
+		group.join();
+
+		assertEquals(group.getMetrics().getExecuted(), 201L);
+		assertTrue(group.getMetrics().getStolen() > 0);
+
+		group.endGracefully().await();
+	}
+}
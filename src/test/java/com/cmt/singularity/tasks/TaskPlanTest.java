@@ -0,0 +1,181 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskPlanTest
+{
+
+	protected final static com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	protected static long getAllocatedBytes()
+	{
+		return threads.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Test if a compiled plan can be executed repeatedly respecting the dependencies
+	 */
+	@Test
+	public void testExecuteRepeatedly()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskPlanTest.testExecuteRepeatedly", 4, 100, true);
+
+		AtomicInteger first = new AtomicInteger();
+		AtomicInteger second = new AtomicInteger();
+
+		TaskGraph graph = new TaskGraph();
+		TaskGraph.Node a = graph.add(first::incrementAndGet);
+		TaskGraph.Node b = graph.add(first::incrementAndGet);
+		graph.add(() -> {
+			assertEquals(first.get() % 2, 0);
+			second.incrementAndGet();
+		}, a, b);
+
+		TaskPlan plan = graph.compile();
+
+		for (int frame = 0; frame < 1000; ++frame) {
+			plan.execute(group).await(5, TimeUnit.SECONDS);
+		}
+
+		assertEquals(first.get(), 2000);
+		assertEquals(second.get(), 1000);
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if submitting a compiled plan into a standard group with the default queue allocates only a fraction of
+	 * submitting the graph - the lock of the queue may allocate wait nodes when contended, so it is not zero
+	 */
+	@Test
+	public void testExecuteAllocatesLessThanGraph()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskPlanTest.testExecuteAllocatesLessThanGraph", 4, 100, true);
+
+		TaskGraph graph = new TaskGraph();
+		TaskGraph.Node root = graph.add(() -> {
+		});
+		TaskGraph.Node left = graph.add(() -> {
+		}, root);
+		TaskGraph.Node right = graph.add(() -> {
+		}, root);
+		graph.add(() -> {
+		}, left, right);
+		graph.add(() -> {
+		});
+
+		TaskPlan plan = graph.compile();
+
+		// Warm up
+		for (int frame = 0; frame < 10000; ++frame) {
+			plan.execute(group).await();
+			graph.submit(group).await();
+		}
+
+		// Measure the submit path only - awaiting may allocate when parking
+		int frames = 1000;
+		long planAllocated = 0;
+		long graphAllocated = 0;
+		for (int frame = 0; frame < frames; ++frame) {
+
+			long before = getAllocatedBytes();
+			TaskBarrier done = plan.execute(group);
+			planAllocated += getAllocatedBytes() - before;
+
+			done.await();
+
+			before = getAllocatedBytes();
+			done = graph.submit(group);
+			graphAllocated += getAllocatedBytes() - before;
+
+			done.await();
+		}
+
+		assertTrue(planAllocated * 10 < graphAllocated, "Plan allocated " + planAllocated + " bytes, graph " + graphAllocated + " bytes");
+		assertTrue(plan.getDone().isArrived());
+
+		group.endGracefully();
+	}
+
+	/**
+	 * Test if submitting a compiled plan into a standard group using the lock free queue does not allocate at all
+	 */
+	@Test
+	public void testExecuteWithoutAllocationLockFree()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_CLASS_KEY, RingBufferTaskQueue.class);
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskPlanTest.testExecuteWithoutAllocationLockFree", 4, 100, true);
+
+		TaskGraph graph = new TaskGraph();
+		TaskGraph.Node root = graph.add(() -> {
+		});
+		graph.add(() -> {
+		}, root);
+		graph.add(() -> {
+		}, root);
+		graph.add(() -> {
+		});
+
+		TaskPlan plan = graph.compile();
+
+		// Warm up
+		for (int frame = 0; frame < 10000; ++frame) {
+			plan.execute(group).await();
+		}
+
+		long allocated = 0;
+		for (int frame = 0; frame < 1000; ++frame) {
+
+			long before = getAllocatedBytes();
+			TaskBarrier done = plan.execute(group);
+			allocated += getAllocatedBytes() - before;
+
+			done.await();
+		}
+
+		assertEquals(allocated, 0L);
+
+		group.endGracefully();
+	}
+}
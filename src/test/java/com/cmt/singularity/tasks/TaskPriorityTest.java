@@ -0,0 +1,157 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskPriorityTest
+{
+
+	protected final static int BACKGROUND_TASKS = 400;
+	protected final static int CRITICAL_TASKS = 20;
+
+	/**
+	 * Test if queued critical tasks overtake the background tasks queued before while the workers are saturated
+	 */
+	@Test
+	public void testCriticalOvertakesBackgroundBacklog()
+	{
+		Configuration configuration = Configuration.create();
+
+		assertCriticalOvertakes(new StandardTaskGroup(configuration, "TaskPriorityTest.Standard", 2, BACKGROUND_TASKS, true));
+		assertCriticalOvertakes(new WorkStealingTaskGroup(configuration, "TaskPriorityTest.WorkStealing", 2, BACKGROUND_TASKS, true));
+	}
+
+	/**
+	 * Test if a lower priority is served after it was skipped priorityAging times
+	 */
+	@Test
+	public void testAging()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_PRIORITY_AGING_KEY, 4);
+
+		assertAging(new StandardTaskGroup(configuration, "TaskPriorityTest.AgingStandard", 1, 32, true));
+		assertAging(new WorkStealingTaskGroup(configuration, "TaskPriorityTest.AgingWorkStealing", 1, 32, true));
+	}
+
+	protected void assertCriticalOvertakes(TaskGroup group)
+	{
+		List<TaskPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+		// Keep both workers busy until the backlog is queued
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(2);
+		for (int i = 0; i < 2; ++i) {
+			group.parallel(() -> {
+				started.countDown();
+				awaitLatch(release);
+			});
+		}
+		awaitLatch(started);
+
+		for (int i = 0; i < BACKGROUND_TASKS; ++i) {
+			group.parallel(TaskPriority.BACKGROUND, () -> order.add(TaskPriority.BACKGROUND));
+		}
+
+		for (int i = 0; i < CRITICAL_TASKS; ++i) {
+			group.parallel(TaskPriority.CRITICAL, () -> order.add(TaskPriority.CRITICAL));
+		}
+
+		release.countDown();
+		group.join();
+
+		assertEquals(order.size(), BACKGROUND_TASKS + CRITICAL_TASKS);
+
+		// All critical tasks are taken before the backlog - a background task taken by the other worker meanwhile may
+		// just finish before the last critical one
+		int lastCritical = order.lastIndexOf(TaskPriority.CRITICAL);
+		assertTrue(lastCritical < CRITICAL_TASKS + 1, "Last critical task ran at " + lastCritical);
+
+		group.endGracefully().await();
+	}
+
+	protected void assertAging(TaskGroup group)
+	{
+		List<TaskPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+		// Keep the single worker busy until all tasks are queued
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(1);
+		group.parallel(() -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+		});
+
+		try {
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+
+		for (int i = 0; i < 10; ++i) {
+			group.parallel(TaskPriority.BACKGROUND, () -> order.add(TaskPriority.BACKGROUND));
+			group.parallel(TaskPriority.CRITICAL, () -> order.add(TaskPriority.CRITICAL));
+		}
+
+		release.countDown();
+		group.join();
+
+		assertEquals(order.size(), 20);
+
+		// 4 critical tasks skip the background level - then it is served once
+		assertEquals(order.subList(0, 5), List.of(
+			TaskPriority.CRITICAL, TaskPriority.CRITICAL, TaskPriority.CRITICAL, TaskPriority.CRITICAL, TaskPriority.BACKGROUND
+		));
+
+		group.endGracefully().await();
+	}
+
+	protected static void awaitLatch(CountDownLatch latch)
+	{
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,311 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskQueueTest
+{
+
+	protected static class ValueTask implements Task
+	{
+
+		protected final long value;
+
+		public ValueTask(long value)
+		{
+			this.value = value;
+		}
+
+		@Override
+		public void execute()
+		{
+		}
+	}
+
+	/**
+	 * Test the bounds and the FIFO order of the ring buffer
+	 */
+	@Test
+	public void testRingBufferBounds()
+	{
+		RingBufferTaskQueue queue = new RingBufferTaskQueue(3);
+
+		// Capacity is rounded up to a power of 2
+		assertEquals(queue.capacity(), 4);
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+
+		Task[] tasks = new Task[5];
+		for (int i = 0; i < tasks.length; ++i) {
+			tasks[i] = new ValueTask(i);
+		}
+
+		for (int round = 0; round < 3; ++round) {
+
+			for (int i = 0; i < 4; ++i) {
+				assertTrue(queue.offer(tasks[i]));
+			}
+
+			assertFalse(queue.offer(tasks[4]));
+			assertEquals(queue.size(), 4);
+
+			for (int i = 0; i < 4; ++i) {
+				assertSame(queue.poll(), tasks[i]);
+			}
+
+			assertNull(queue.poll());
+		}
+	}
+
+	/**
+	 * Test if offerAll adds the range as far as there is space and keeps the order for both queues
+	 */
+	@Test
+	public void testOfferAll()
+	{
+		for (TaskQueue queue : new TaskQueue[]{new BlockingTaskQueue(4), new RingBufferTaskQueue(4)}) {
+
+			Task[] tasks = new Task[8];
+			for (int i = 0; i < tasks.length; ++i) {
+				tasks[i] = new ValueTask(i);
+			}
+
+			assertEquals(queue.offerAll(tasks, 0, 0), 0);
+			assertEquals(queue.offerAll(tasks, 0, 6), 4);
+			assertEquals(queue.offerAll(tasks, 4, 6), 0);
+			assertEquals(queue.size(), 4);
+
+			assertSame(queue.poll(), tasks[0]);
+			assertSame(queue.poll(), tasks[1]);
+
+			// Wraps around the end of the ring
+			assertEquals(queue.offerAll(tasks, 4, 8), 2);
+
+			for (int i : new int[]{2, 3, 4, 5}) {
+				assertSame(queue.poll(), tasks[i]);
+			}
+			assertNull(queue.poll());
+			assertTrue(queue.isEmpty());
+		}
+	}
+
+	/**
+	 * Test if concurrent batch producers and consumers transfer every task exactly once
+	 */
+	@Test
+	public void testRingBufferConcurrentOfferAll() throws InterruptedException
+	{
+		RingBufferTaskQueue queue = new RingBufferTaskQueue(64);
+
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 100_000;
+		int batchSize = 16;
+
+		AtomicLong sum = new AtomicLong();
+		AtomicInteger received = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers + consumers);
+
+		for (int p = 0; p < producers; ++p) {
+			int producer = p;
+			Thread.ofPlatform().daemon().start(() -> {
+				Task[] batch = new Task[batchSize];
+				for (int i = 0; i < perProducer; i += batchSize) {
+					for (int b = 0; b < batchSize; ++b) {
+						batch[b] = new ValueTask(producer * perProducer + i + b);
+					}
+					int from = 0;
+					while (from < batchSize) {
+						from += queue.offerAll(batch, from, batchSize);
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		for (int c = 0; c < consumers; ++c) {
+			Thread.ofPlatform().daemon().start(() -> {
+				while (received.get() < producers * perProducer) {
+					Task task = queue.poll();
+					if (task != null) {
+						sum.addAndGet(((ValueTask) task).value);
+						received.incrementAndGet();
+					} else {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+
+		long n = (long) producers * perProducer;
+		assertEquals(received.get(), (int) n);
+		assertEquals(sum.get(), n * (n - 1) / 2);
+	}
+
+	/**
+	 * Test if concurrent producers and consumers transfer every task exactly once
+	 */
+	@Test
+	public void testRingBufferConcurrent() throws InterruptedException
+	{
+		RingBufferTaskQueue queue = new RingBufferTaskQueue(64);
+
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 100_000;
+
+		AtomicLong sum = new AtomicLong();
+		AtomicInteger received = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers + consumers);
+
+		for (int p = 0; p < producers; ++p) {
+			int producer = p;
+			Thread.ofPlatform().daemon().start(() -> {
+				try {
+					for (int i = 0; i < perProducer; ++i) {
+						queue.put(new ValueTask(producer * perProducer + i));
+					}
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+				done.countDown();
+			});
+		}
+
+		for (int c = 0; c < consumers; ++c) {
+			Thread.ofPlatform().daemon().start(() -> {
+				while (received.get() < producers * perProducer) {
+					Task task = queue.poll();
+					if (task != null) {
+						sum.addAndGet(((ValueTask) task).value);
+						received.incrementAndGet();
+					} else {
+						Thread.yield();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+
+		long n = (long) producers * perProducer;
+		assertEquals(received.get(), (int) n);
+		assertEquals(sum.get(), n * (n - 1) / 2);
+	}
+
+	/**
+	 * Test the overflow policies of a standard group with a full queue
+	 */
+	@Test
+	public void testOverflowPolicies()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_CLASS_KEY, RingBufferTaskQueue.class);
+		configuration.set(StandardTaskGroup.CONFIGURATION_QUEUE_OVERFLOW_POLICY_KEY + ".TaskQueueTest.RunOnCaller", "RUN_ON_CALLER");
+
+		StandardTaskGroup reject = new StandardTaskGroup(configuration, "TaskQueueTest.Reject", 1, 2, true);
+		StandardTaskGroup runOnCaller = new StandardTaskGroup(configuration, "TaskQueueTest.RunOnCaller", 1, 2, true);
+
+		assertTrue(reject.queues[TaskPriority.FRAME.ordinal()] instanceof RingBufferTaskQueue);
+		assertEquals(reject.overflowPolicy, TaskQueueOverflowPolicy.REJECT);
+		assertEquals(runOnCaller.overflowPolicy, TaskQueueOverflowPolicy.RUN_ON_CALLER);
+
+		for (StandardTaskGroup group : new StandardTaskGroup[]{reject, runOnCaller}) {
+
+			// Keep the single worker busy until released
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(1);
+			group.parallel(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					throw new RuntimeException(ex);
+				}
+			});
+
+			try {
+				assertTrue(started.await(5, TimeUnit.SECONDS));
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+
+			AtomicInteger executed = new AtomicInteger();
+			Thread caller = Thread.currentThread();
+			AtomicInteger executedOnCaller = new AtomicInteger();
+
+			try {
+				for (int i = 0; i < 3; ++i) {
+					group.parallel(() -> {
+						executed.incrementAndGet();
+						if (Thread.currentThread() == caller) {
+							executedOnCaller.incrementAndGet();
+						}
+					});
+				}
+
+				if (group == reject) {
+					fail("Full queue did not reject");
+				}
+			} catch (TaskRejectedException ex) {
+				assertSame(group, reject);
+			}
+
+			release.countDown();
+			group.join();
+
+			if (group == reject) {
+				assertEquals(executed.get(), 2);
+			} else {
+				assertEquals(executed.get(), 3);
+				assertEquals(executedOnCaller.get(), 1);
+			}
+
+			group.endGracefully();
+		}
+	}
+}
@@ -0,0 +1,195 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class TaskTracerTest
+{
+
+	public static class FirstFrameTask implements Task
+	{
+
+		@Override
+		public void execute()
+		{
+			// Just shows up in the trace
+		}
+	}
+
+	public static class LaterFrameTask implements Task
+	{
+
+		@Override
+		public void execute()
+		{
+			// Just shows up in the trace
+		}
+	}
+
+	protected static int count(String text, String part)
+	{
+		int count = 0;
+		Matcher matcher = Pattern.compile(Pattern.quote(part)).matcher(text);
+
+		while (matcher.find()) {
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Test if the last frames are written with matching begins and ends and older frames are left out
+	 */
+	@Test
+	public void testDumpLastFrames() throws Exception
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new StandardTaskGroup(configuration, "TaskTracerTest.testDumpLastFrames", 2, 100, true);
+
+		TaskTracer.enable(1024);
+
+		try {
+			TaskTracer.frame();
+			group.parallelBefore(new FirstFrameTask(), new FirstFrameTask()).await(5, TimeUnit.SECONDS);
+			// The barrier arrives before the workers end their slices - join so they do not spill into the next frame
+			assertTrue(group.join(5, TimeUnit.SECONDS));
+
+			for (int i = 0; i < 2; ++i) {
+				TaskTracer.frame();
+				group.parallelBefore(new LaterFrameTask(), new LaterFrameTask()).await(5, TimeUnit.SECONDS);
+				assertTrue(group.join(5, TimeUnit.SECONDS));
+			}
+
+			StringWriter writer = new StringWriter();
+			TaskTracer.write(writer, 2);
+			String trace = writer.toString();
+
+			assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+			assertTrue(trace.endsWith("]}"));
+
+			assertEquals(count(trace, "\"cat\":\"frame\""), 2);
+			assertFalse(trace.contains(FirstFrameTask.class.getName()));
+
+			// Each task is traced once by its own class - never by the wrapper of parallelBefore
+			assertEquals(count(trace, "\"name\":\"" + LaterFrameTask.class.getName() + "\""), 4);
+			assertFalse(trace.contains(AbstractTaskGroup.StandardTaskWrapperTask.class.getName()));
+			// Either worker may have run all tasks
+			assertTrue(trace.contains("TaskTracerTest.testDumpLastFrames 0") || trace.contains("TaskTracerTest.testDumpLastFrames 1"));
+			assertTrue(trace.contains("\"name\":\"await\""));
+
+			// Only slices of currently parked workers are open
+			assertTrue(count(trace, "\"ph\":\"B\"") - count(trace, "\"ph\":\"E\"") <= 2);
+		} finally {
+			TaskTracer.disable();
+		}
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if overwritten entries are dropped without breaking the nesting
+	 */
+	@Test
+	public void testRingBufferOverflow() throws Exception
+	{
+		TaskTracer.enable(16);
+
+		try {
+			Thread thread = Thread.ofPlatform().name("TaskTracerTest.Overflow").start(() -> {
+				for (int i = 0; i < 100; ++i) {
+					TaskTracer.begin(LaterFrameTask.class);
+					TaskTracer.begin(TaskTracer.AWAIT);
+					TaskTracer.end();
+					TaskTracer.end();
+				}
+			});
+			thread.join();
+
+			StringWriter writer = new StringWriter();
+			TaskTracer.write(writer, 1);
+			String trace = writer.toString();
+
+			int start = trace.indexOf("\"name\":\"TaskTracerTest.Overflow\"");
+			assertTrue(start > 0);
+
+			String tid = trace.substring(trace.lastIndexOf("\"tid\":", start) + 6, trace.indexOf(",", trace.lastIndexOf("\"tid\":", start)));
+			String own = trace.replaceAll("\\{[^{}]*\"tid\":(?!" + tid + ",)[^{}]*\\}", "");
+
+			// At most 16 entries are kept - with the first one being written dropped
+			int begins = count(own, "\"ph\":\"B\"");
+			int ends = count(own, "\"ph\":\"E\"");
+			assertTrue(begins <= 16 && begins > 0, "begins " + begins);
+			assertTrue(ends <= begins, "ends " + ends + " begins " + begins);
+		} finally {
+			TaskTracer.disable();
+		}
+	}
+
+	/**
+	 * Test if buffers of ended threads are dropped once too many piled up
+	 */
+	@Test
+	public void testEndedThreadBuffersDropped() throws Exception
+	{
+		TaskTracer.enable(16);
+
+		try {
+			for (int i = 0; i < TaskTracer.ENDED_BUFFERS * 4; ++i) {
+				Thread thread = Thread.ofPlatform().name("TaskTracerTest.Ended " + i).start(() -> {
+					TaskTracer.begin(LaterFrameTask.class);
+					TaskTracer.end();
+				});
+				thread.join();
+			}
+
+			StringWriter writer = new StringWriter();
+			TaskTracer.write(writer, 1);
+			String trace = writer.toString();
+
+			// The last threads are kept for dumps, the older ones are dropped
+			assertTrue(trace.contains("TaskTracerTest.Ended " + (TaskTracer.ENDED_BUFFERS * 4 - 1)));
+			assertFalse(trace.contains("\"TaskTracerTest.Ended 0\""));
+			assertTrue(count(trace, "TaskTracerTest.Ended ") <= TaskTracer.ENDED_BUFFERS + 1);
+		} finally {
+			TaskTracer.disable();
+		}
+	}
+}
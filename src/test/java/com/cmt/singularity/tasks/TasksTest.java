@@ -28,6 +28,10 @@ package com.cmt.singularity.tasks;
 import com.cmt.singularity.Configuration;
 import de.s42.log.LogManager;
 import de.s42.log.Logger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
 
 /**
@@ -151,4 +155,120 @@ public class TasksTest
 		log.stopDebug("runStructuredTasks");
 	}
 
+	/**
+	 * Creates a chain of dependent stages in a group with a single worker. As dependent tasks are held back until their
+	 * barrier arrives no stage occupies the worker while waiting.
+	 */
+	@Test
+	public void runDependentChain()
+	{
+		log.debug("runDependentChain");
+		log.start("runDependentChain");
+
+		Configuration configuration = Configuration.create();
+
+		Tasks tasks = new StandardTasks(configuration);
+
+		TaskGroup group = tasks.createTaskGroup("Chain", 1, 100, true);
+
+		int stages = 200;
+		AtomicInteger counter = new AtomicInteger();
+
+		TaskBarrier previous = new StandardTaskBarrier(1);
+		TaskBarrier first = previous;
+
+		for (int i = 0; i < stages; ++i) {
+
+			int stage = i;
+			TaskBarrier next = new StandardTaskBarrier(1);
+
+			group.parallelAfter(previous, () -> {
+				assertEquals(counter.getAndIncrement(), stage);
+				next.arrive();
+			});
+
+			previous = next;
+		}
+
+		// Nothing is queued before the first barrier arrives
+		group.join();
+		assertEquals(counter.get(), 0);
+
+		first.arrive();
+
+		previous.await(5, TimeUnit.SECONDS);
+
+		assertTrue(previous.isArrived());
+		assertEquals(counter.get(), stages);
+
+		tasks.endGracefully();
+
+		log.stopDebug("runDependentChain");
+	}
+
+	/**
+	 * Test if the tasks after a barrier are dropped if a failure arrived at it
+	 */
+	@Test
+	public void testParallelAfterFailure()
+	{
+		Configuration configuration = Configuration.create();
+
+		Tasks tasks = new StandardTasks(configuration);
+
+		TaskGroup group = tasks.createTaskGroup("AfterFailure", 1, 100, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		TaskBarrier failed = new StandardTaskBarrier(1);
+		TaskBarrier succeeded = new StandardTaskBarrier(1);
+
+		group.parallelAfter(failed, counter::incrementAndGet);
+		group.parallelAfter(failed, new StandardCancellationToken(), counter::incrementAndGet);
+		group.parallelAfter(succeeded, counter::incrementAndGet);
+
+		failed.arriveExceptionally(new IllegalStateException("Failed on purpose"));
+		succeeded.arrive();
+
+		group.join();
+
+		assertEquals(counter.get(), 1);
+
+		tasks.endGracefully();
+	}
+
+	/**
+	 * Test if all group settings are read the same way - a value for a single group overrides the general one and
+	 * strings are parsed
+	 */
+	@Test
+	public void testGroupConfiguration()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_GRAIN_SIZE_KEY, 16);
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_GRAIN_SIZE_KEY + ".TasksTest.Own", "32");
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_PRIORITY_AGING_KEY + ".TasksTest.Own", "4");
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_BARRIER_SPINS_KEY + ".TasksTest.Own", "8");
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_SPINS_KEY + ".TasksTest.Own", "2");
+		configuration.set(Tasks.CONFIGURATION_TASK_GROUP_CLASS_KEY + ".TasksTest.Own", WorkStealingTaskGroup.class.getName());
+
+		Tasks tasks = new StandardTasks(configuration);
+
+		AbstractTaskGroup general = (AbstractTaskGroup) tasks.createTaskGroup("TasksTest.General", 1, 16, true);
+		AbstractTaskGroup own = (AbstractTaskGroup) tasks.createTaskGroup("TasksTest.Own", 1, 16, true);
+
+		assertTrue(general instanceof StandardTaskGroup);
+		assertEquals(general.grainSize, 16);
+		assertEquals(general.priorityAging, TaskGroup.CONFIGURATION_TASK_GROUP_PRIORITY_AGING_DEFAULT);
+		assertEquals(general.barrierSpins, AdaptiveTaskBarrier.SPINS_DEFAULT);
+		assertEquals(general.idleSpins, TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_SPINS_DEFAULT);
+
+		assertTrue(own instanceof WorkStealingTaskGroup);
+		assertEquals(own.grainSize, 32);
+		assertEquals(own.priorityAging, 4);
+		assertEquals(own.barrierSpins, 8);
+		assertEquals(own.idleSpins, 2);
+
+		tasks.endGracefully().await();
+	}
 }
@@ -0,0 +1,120 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class ThreadAffinityTest
+{
+
+	/**
+	 * Returns the CPUs the calling thread may run on as given by Linux - null if not available
+	 *
+	 * @return
+	 */
+	protected static String getAllowedCpus()
+	{
+		try {
+			return Files.readAllLines(Path.of("/proc/thread-self/status")).stream()
+				.filter(line -> line.startsWith("Cpus_allowed_list:"))
+				.map(line -> line.substring("Cpus_allowed_list:".length()).trim())
+				.findFirst()
+				.orElse(null);
+		} catch (IOException ex) {
+			return null;
+		}
+	}
+
+	@Test
+	public void testParseCpuList()
+	{
+		assertEquals(ThreadAffinity.parseCpuList("0-3, 8,10-11"), new int[]{0, 1, 2, 3, 8, 10, 11});
+		assertEquals(ThreadAffinity.parseCpuList("5"), new int[]{5});
+		assertEquals(ThreadAffinity.parseCpuList(""), new int[0]);
+	}
+
+	@Test(expectedExceptions = RuntimeException.class)
+	public void testParseInvalidCpuList()
+	{
+		ThreadAffinity.parseCpuList("0-a");
+	}
+
+	@Test
+	public void testNumaNode()
+	{
+		if (new File("/sys/devices/system/node").isDirectory()) {
+			assertTrue(ThreadAffinity.getNumaNode(0) >= 0);
+		}
+
+		assertEquals(ThreadAffinity.getNumaNode(Integer.MAX_VALUE), -1);
+	}
+
+	/**
+	 * Test if the workers of groups with a configured affinity are pinned and still execute their tasks
+	 */
+	@Test
+	public void testPinnedGroups()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_AFFINITY_KEY + ".ThreadAffinityTest.Standard", "0");
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_AFFINITY_KEY + ".ThreadAffinityTest.WorkStealing", "0");
+
+		TaskGroup[] groups = {
+			new StandardTaskGroup(configuration, "ThreadAffinityTest.Standard", 2, 100, true),
+			new WorkStealingTaskGroup(configuration, "ThreadAffinityTest.WorkStealing", 2, 100, true)
+		};
+
+		for (TaskGroup group : groups) {
+
+			Set<String> allowed = ConcurrentHashMap.newKeySet();
+
+			for (int i = 0; i < 100; ++i) {
+				group.parallel(() -> allowed.add(String.valueOf(getAllowedCpus())));
+			}
+
+			group.join();
+
+			if (ThreadAffinity.isSupported() && getAllowedCpus() != null) {
+				assertEquals(allowed, Set.of("0"), group.getName());
+			}
+
+			group.endGracefully().await();
+		}
+	}
+}
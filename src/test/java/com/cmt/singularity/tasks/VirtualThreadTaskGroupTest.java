@@ -0,0 +1,188 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class VirtualThreadTaskGroupTest
+{
+
+	protected static void sleep(long millis)
+	{
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Test if many blocking tasks are in flight at the same time
+	 */
+	@Test
+	public void testManyBlockingTasks()
+	{
+		Configuration configuration = Configuration.create();
+
+		Tasks tasks = new StandardTasks(configuration);
+
+		TaskGroup group = tasks.createTaskGroup("VirtualThreadTaskGroupTest.testManyBlockingTasks", 1, 1, true, VirtualThreadTaskGroup.class);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		long start = System.nanoTime();
+
+		for (int i = 0; i < 2000; ++i) {
+			group.parallel(() -> {
+				sleep(100);
+				assertTrue(Thread.currentThread().isVirtual());
+				counter.incrementAndGet();
+			});
+		}
+
+		group.join();
+
+		// Sequentially this would take 200 seconds
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20));
+		assertEquals(counter.get(), 2000);
+
+		tasks.endGracefully().await();
+
+		assertTrue(group.isEnded());
+	}
+
+	/**
+	 * Test if the configured concurrency limit is respected and barriers work as in other groups
+	 */
+	@Test
+	public void testConcurrencyLimit()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(VirtualThreadTaskGroup.CONFIGURATION_CONCURRENCY_KEY + ".VirtualThreadTaskGroupTest.testConcurrencyLimit", 3);
+
+		TaskGroup group = new VirtualThreadTaskGroup(configuration, "VirtualThreadTaskGroupTest.testConcurrencyLimit", 1, 1, true);
+
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		Task task = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(10);
+			running.decrementAndGet();
+		};
+
+		TaskBarrier barrier = group.parallelBefore(task, task, task, task, task, task, task, task, task, task);
+
+		barrier.await();
+
+		assertTrue(maxRunning.get() <= 3, "maxRunning <= 3 but was " + maxRunning.get());
+
+		group.endGracefully().await();
+
+		assertTrue(group.isEnded());
+	}
+
+	/**
+	 * Test if tasks waiting for a permit when ending still execute, so their barrier arrives
+	 */
+	@Test
+	public void testEndDrainsWaitingTasks()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(VirtualThreadTaskGroup.CONFIGURATION_CONCURRENCY_KEY + ".VirtualThreadTaskGroupTest.testEndDrainsWaitingTasks", 1);
+
+		TaskGroup group = new VirtualThreadTaskGroup(configuration, "VirtualThreadTaskGroupTest.testEndDrainsWaitingTasks", 1, 1, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		Task task = () -> {
+			sleep(10);
+			counter.incrementAndGet();
+		};
+
+		TaskBarrier barrier = group.parallelBefore(task, task, task, task, task);
+
+		group.endGracefully().await();
+
+		barrier.await(5, TimeUnit.SECONDS);
+
+		assertEquals(counter.get(), 5);
+		assertTrue(group.isEnded());
+	}
+
+	/**
+	 * Test if tasks submitted while ending (i.e. by running tasks) are accepted and executed like in the pooled groups
+	 */
+	@Test
+	public void testAcceptsTasksWhileEnding() throws InterruptedException
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new VirtualThreadTaskGroup(configuration, "VirtualThreadTaskGroupTest.testAcceptsTasksWhileEnding", 1, 1, true);
+
+		AtomicInteger counter = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		TaskBarrier barrier = group.parallelBefore(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException ex) {
+				throw new RuntimeException(ex);
+			}
+			group.parallel(counter::incrementAndGet);
+		});
+
+		TaskBarrier ended = group.endGracefully();
+
+		TaskBarrier whileEnding = group.parallelBefore(counter::incrementAndGet);
+
+		release.countDown();
+
+		ended.await();
+
+		assertTrue(barrier.isArrived());
+		assertTrue(whileEnding.isArrived());
+		assertEquals(counter.get(), 2);
+		assertTrue(group.isEnded());
+
+		// Once ended tasks are dropped and their barriers arrive exceptionally
+		TaskBarrier afterEnd = group.parallelBefore(counter::incrementAndGet);
+
+		assertTrue(afterEnd.isArrived());
+		assertTrue(afterEnd.getFailure() instanceof TaskCancelledException);
+		assertEquals(counter.get(), 2);
+	}
+}
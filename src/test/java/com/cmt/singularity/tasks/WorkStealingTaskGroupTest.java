@@ -0,0 +1,214 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkStealingTaskGroupTest
+{
+
+	/**
+	 * Test if the configuration selects the work stealing group for all groups or a single group
+	 */
+	@Test
+	public void testSelectByConfiguration()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(Tasks.CONFIGURATION_TASK_GROUP_CLASS_KEY + ".WorkStealing", WorkStealingTaskGroup.class);
+
+		Tasks tasks = new StandardTasks(configuration);
+
+		TaskGroup standard = tasks.createTaskGroup("Standard", 1, 10, true);
+		TaskGroup workStealing = tasks.createTaskGroup("WorkStealing", 1, 10, true);
+
+		assertTrue(standard instanceof StandardTaskGroup);
+		assertTrue(workStealing instanceof WorkStealingTaskGroup);
+
+		tasks.endGracefully().await();
+	}
+
+	/**
+	 * Test if many small tasks from outside and nested tasks from inside the workers are all executed before join
+	 * returns
+	 */
+	@Test
+	public void testExecuteNestedTasks()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "WorkStealingTaskGroupTest.testExecuteNestedTasks", 4, 16, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		int outer = 1000;
+		int inner = 10;
+
+		for (int i = 0; i < outer; ++i) {
+			group.parallel(() -> {
+				for (int j = 0; j < inner; ++j) {
+					group.parallel(counter::incrementAndGet);
+				}
+				counter.incrementAndGet();
+			});
+		}
+
+		group.join();
+
+		assertEquals(counter.get(), outer * (inner + 1));
+
+		group.endGracefully().await();
+
+		assertTrue(group.isEnded());
+	}
+
+	/**
+	 * Test if barriers of the work stealing group arrive after all tasks did run
+	 */
+	@Test
+	public void testParallelBefore()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "WorkStealingTaskGroupTest.testParallelBefore", 2, 16, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		TaskBarrier barrier = group.parallelBefore(
+			counter::incrementAndGet,
+			counter::incrementAndGet,
+			counter::incrementAndGet
+		);
+
+		barrier.await();
+
+		assertEquals(counter.get(), 3);
+
+		group.endGracefully().await();
+	}
+
+	/**
+	 * Test if tasks queued before ending are still executed, so their barrier arrives
+	 */
+	@Test
+	public void testEndDrainsQueuedTasks()
+	{
+		Configuration configuration = Configuration.create();
+
+		TaskGroup group = new WorkStealingTaskGroup(configuration, "WorkStealingTaskGroupTest.testEndDrainsQueuedTasks", 2, 16, true);
+
+		AtomicInteger counter = new AtomicInteger();
+
+		Task[] tasks = new Task[100];
+		for (int i = 0; i < tasks.length; ++i) {
+			tasks[i] = counter::incrementAndGet;
+		}
+
+		TaskBarrier barrier = group.parallelBefore(tasks);
+
+		group.endGracefully().await();
+
+		barrier.await(5, TimeUnit.SECONDS);
+		assertEquals(counter.get(), tasks.length);
+	}
+
+	/**
+	 * Test if the owner popping and a thief stealing the last element get every task exactly once and leave no
+	 * consumed task in the slots
+	 */
+	@Test
+	public void testDequeLastElementRace() throws InterruptedException
+	{
+		// Keep the ring small so the owner pushes into slots thieves just consumed
+		WorkStealingDeque deque = new WorkStealingDeque(2);
+
+		int count = 200_000;
+		AtomicIntegerArray taken = new AtomicIntegerArray(count);
+		Task[] tasks = new Task[count];
+		for (int i = 0; i < count; ++i) {
+			int index = i;
+			tasks[i] = () -> {
+				taken.incrementAndGet(index);
+			};
+		}
+
+		AtomicInteger stolen = new AtomicInteger();
+		AtomicBoolean done = new AtomicBoolean();
+
+		Thread thief = new Thread(() -> {
+			while (!done.get()) {
+				Task task = deque.steal();
+				if (task != null) {
+					task.execute();
+					stolen.incrementAndGet();
+				}
+			}
+		});
+		thief.start();
+
+		// The deque holds at most one task, so every pop races the thief for the last element
+		int popped = 0;
+		for (int i = 0; i < count; ++i) {
+			deque.push(tasks[i]);
+			// Give the thief a window on single core machines as well
+			if ((i & 63) == 0) {
+				Thread.yield();
+			}
+			Task task = deque.pop();
+			if (task != null) {
+				task.execute();
+				popped++;
+			}
+		}
+
+		done.set(true);
+		thief.join();
+
+		assertTrue(deque.isEmpty());
+		assertTrue(popped > 0, "owner won no race");
+		assertTrue(stolen.get() > 0, "thief won no race");
+		assertEquals(popped + stolen.get(), count);
+
+		for (int i = 0; i < count; ++i) {
+			assertEquals(taken.get(i), 1, "task " + i);
+		}
+
+		for (Task slot : deque.tasks) {
+			assertNull(slot);
+		}
+	}
+}
@@ -0,0 +1,159 @@
+// <editor-fold desc="The MIT License" defaultstate="collapsed">
+/*
+ * The MIT License
+ *
+ * Copyright 2026 Cryomoretan GmbH.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+//</editor-fold>
+package com.cmt.singularity.tasks;
+
+import com.cmt.singularity.Configuration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Benjamin Schiller
+ */
+public class WorkerIdleTest
+{
+
+	protected static TaskGroup[] createGroups(Configuration configuration, String name)
+	{
+		return new TaskGroup[]{
+			new StandardTaskGroup(configuration, name + ".Standard", 2, 100, true),
+			new WorkStealingTaskGroup(configuration, name + ".WorkStealing", 2, 100, true)
+		};
+	}
+
+	protected static Configuration createParkingConfiguration()
+	{
+		Configuration configuration = Configuration.create();
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_SPINS_KEY, 0);
+		configuration.set(TaskGroup.CONFIGURATION_TASK_GROUP_IDLE_YIELDS_KEY, 0);
+
+		return configuration;
+	}
+
+	protected static Thread[] getWorkers(TaskGroup group)
+	{
+		return Thread.getAllStackTraces().keySet().stream()
+			.filter(thread -> thread.getName().startsWith(group.getName() + " "))
+			.toArray(Thread[]::new);
+	}
+
+	/**
+	 * Waits till all workers of the group are parked without a timeout - only an unpark wakes them then.
+	 *
+	 * @param group
+	 * @return the workers
+	 */
+	protected static Thread[] awaitParked(TaskGroup group)
+	{
+		Thread[] workers = getWorkers(group);
+
+		assertEquals(workers.length, 2, group.getName());
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+		while (!Arrays.stream(workers).allMatch(worker -> worker.getState() == Thread.State.WAITING)) {
+			assertTrue(System.nanoTime() - deadline < 0, group.getName() + " workers did not park");
+			Thread.yield();
+		}
+
+		return workers;
+	}
+
+	/**
+	 * Test if ending idle groups wakes the parked workers instead of relying on a poll timeout
+	 */
+	@Test
+	public void testImmediateShutdown() throws InterruptedException
+	{
+		for (TaskGroup group : createGroups(createParkingConfiguration(), "WorkerIdleTest.testImmediateShutdown")) {
+
+			group.parallelBefore(() -> {
+			}).await();
+
+			Thread[] workers = awaitParked(group);
+
+			group.endGracefully().await();
+
+			assertTrue(group.isEnded(), group.getName());
+			// The barrier arrives as the last step of a worker - its thread terminates right after
+			for (Thread worker : workers) {
+				worker.join(5000);
+				assertFalse(worker.isAlive(), worker.getName());
+			}
+		}
+	}
+
+	/**
+	 * Test if parked workers are woken up when a task arrives
+	 */
+	@Test
+	public void testWakeOnTask()
+	{
+		for (TaskGroup group : createGroups(createParkingConfiguration(), "WorkerIdleTest.testWakeOnTask")) {
+
+			for (int i = 0; i < 100; ++i) {
+
+				awaitParked(group);
+
+				AtomicInteger executed = new AtomicInteger();
+
+				group.parallelBefore(executed::incrementAndGet).await(5, TimeUnit.SECONDS);
+
+				assertEquals(executed.get(), 1, group.getName());
+			}
+
+			group.endGracefully().await();
+		}
+	}
+
+	/**
+	 * Test if idle workers park (so they do not use CPU) instead of spinning or polling with a timeout
+	 */
+	@Test
+	public void testIdleWorkersPark()
+	{
+		for (TaskGroup group : createGroups(createParkingConfiguration(), "WorkerIdleTest.testIdleWorkersPark")) {
+
+			group.parallelBefore(() -> {
+			}).await();
+
+			for (Thread worker : awaitParked(group)) {
+
+				StackTraceElement[] stack = worker.getStackTrace();
+
+				assertTrue(Arrays.stream(stack).anyMatch(frame -> frame.getClassName().equals(LockSupport.class.getName())), worker.getName() + " is not parked by LockSupport");
+			}
+
+			group.endGracefully().await();
+		}
+	}
+}
@@ -27,10 +27,14 @@ module com.cmt.singularity
 {
 	requires org.testng;
 	requires de.sft.log;
+	requires jdk.management;
+	requires jdk.jfr;
 
 	exports com.cmt.singularity;
+	exports com.cmt.singularity.assertion;
 	exports com.cmt.singularity.tasks;
 
 	opens com.cmt.singularity;
+	opens com.cmt.singularity.assertion;
 	opens com.cmt.singularity.tasks;
 }